@@ -1,10 +1,118 @@
 package com.petmanagement.petmanagementbackend.config;
 
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.petmanagement.petmanagementbackend.payload.DictValueDTO;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.cache.CacheProperties;
+import org.springframework.boot.autoconfigure.cache.RedisCacheManagerBuilderCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.annotation.CachingConfigurer;
 import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.interceptor.CacheErrorHandler;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
+
+import java.util.List;
 
 @Configuration
 @EnableCaching
-public class CacheConfig {
-    // 启用缓存支持
-}
\ No newline at end of file
+@EnableConfigurationProperties({CacheProperties.class, LocalCacheProperties.class})
+public class CacheConfig implements CachingConfigurer {
+
+    private final MeterRegistry meterRegistry;
+
+    public CacheConfig(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * 缓存读写失败时不影响业务，直接执行被缓存的方法
+     */
+    @Override
+    public CacheErrorHandler errorHandler() {
+        return new DegradingCacheErrorHandler(meterRegistry);
+    }
+
+    /**
+     * 两级缓存：本地 Caffeine + Redis
+     * Redis 层沿用 spring.cache.redis.* 配置和各 RedisCacheManagerBuilderCustomizer
+     */
+    @Bean
+    public TwoLevelCacheManager cacheManager(RedisConnectionFactory connectionFactory,
+                                             CacheProperties cacheProperties,
+                                             ObjectProvider<RedisCacheManagerBuilderCustomizer> customizers,
+                                             LocalCacheProperties localCacheProperties,
+                                             StringRedisTemplate redisTemplate,
+                                             RedisCircuitBreaker circuitBreaker) {
+        RedisCacheManager.RedisCacheManagerBuilder builder = RedisCacheManager.builder(connectionFactory)
+                .cacheDefaults(redisCacheDefaults(cacheProperties));
+        customizers.orderedStream().forEach(customizer -> customizer.customize(builder));
+        RedisCacheManager redisCacheManager = builder.build();
+        redisCacheManager.afterPropertiesSet();
+        return new TwoLevelCacheManager(redisCacheManager, localCacheProperties, redisTemplate,
+                meterRegistry, circuitBreaker);
+    }
+
+    /**
+     * 订阅其他节点的缓存失效广播（不自动启动）
+     */
+    @Bean
+    public RedisMessageListenerContainer cacheInvalidationListenerContainer(RedisConnectionFactory connectionFactory,
+                                                                             TwoLevelCacheManager cacheManager) {
+        // 由 CacheInvalidationSubscriber 启动，Redis 不可用时不影响应用启动
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer() {
+            @Override
+            public boolean isAutoStartup() {
+                return false;
+            }
+        };
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(cacheManager, new ChannelTopic(TwoLevelCacheManager.INVALIDATION_CHANNEL));
+        return container;
+    }
+
+    /**
+     * dictValues 缓存以 JSON 存储 List&lt;DictValueDTO&gt;，替代默认的 JDK 序列化
+     * 键前缀带格式版本，旧格式的缓存项不会被读到
+     */
+    @Bean
+    public RedisCacheManagerBuilderCustomizer dictValuesCacheCustomizer(CacheProperties cacheProperties) {
+        ObjectMapper mapper = new ObjectMapper();
+        JavaType type = mapper.getTypeFactory().constructCollectionType(List.class, DictValueDTO.class);
+        Jackson2JsonRedisSerializer<Object> serializer = new Jackson2JsonRedisSerializer<>(mapper, type);
+
+        RedisCacheConfiguration dictValues = redisCacheDefaults(cacheProperties)
+                .computePrefixWith(name -> name + ":v2::")
+                .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(serializer));
+        return builder -> builder.withCacheConfiguration("dictValues", dictValues);
+    }
+
+    // 与 Spring Boot 自动配置一致地应用 spring.cache.redis.* 配置
+    private static RedisCacheConfiguration redisCacheDefaults(CacheProperties cacheProperties) {
+        CacheProperties.Redis redis = cacheProperties.getRedis();
+        RedisCacheConfiguration config = RedisCacheConfiguration.defaultCacheConfig();
+        if (redis.getTimeToLive() != null) {
+            config = config.entryTtl(redis.getTimeToLive());
+        }
+        if (redis.getKeyPrefix() != null) {
+            config = config.prefixCacheNameWith(redis.getKeyPrefix());
+        }
+        if (!redis.isCacheNullValues()) {
+            config = config.disableCachingNullValues();
+        }
+        if (!redis.isUseKeyPrefix()) {
+            config = config.disableKeyPrefix();
+        }
+        return config;
+    }
+}
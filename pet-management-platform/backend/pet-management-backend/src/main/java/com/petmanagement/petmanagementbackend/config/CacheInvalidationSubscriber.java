@@ -0,0 +1,41 @@
+package com.petmanagement.petmanagementbackend.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 启动缓存失效广播的订阅
+ * 订阅容器不随上下文自动启动：Redis 不可用时启动会抛异常导致应用无法启动，
+ * 这里在启动完成后尝试订阅，失败则定期重试，期间本地缓存仅靠 TTL 过期。
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CacheInvalidationSubscriber {
+
+    private final RedisMessageListenerContainer cacheInvalidationListenerContainer;
+
+    private volatile boolean subscribed = false;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.cache.subscribe-retry-ms:30000}",
+               initialDelayString = "${app.cache.subscribe-retry-ms:30000}")
+    public void ensureSubscribed() {
+        if (subscribed) {
+            return;
+        }
+        try {
+            cacheInvalidationListenerContainer.start();
+            subscribed = true;
+            log.info("已订阅缓存失效广播");
+        } catch (RuntimeException e) {
+            cacheInvalidationListenerContainer.stop();
+            log.warn("订阅缓存失效广播失败，稍后重试: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.petmanagement.petmanagementbackend.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Clock;
+
+/**
+ * 统一的时钟，需要“今天”的业务从这里取，便于按同一时区计算
+ */
+@Configuration
+public class ClockConfig {
+
+    @Bean
+    public Clock clock() {
+        return Clock.systemDefaultZone();
+    }
+}
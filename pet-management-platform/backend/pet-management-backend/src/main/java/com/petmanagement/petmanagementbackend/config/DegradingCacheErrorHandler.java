@@ -0,0 +1,45 @@
+package com.petmanagement.petmanagementbackend.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.interceptor.CacheErrorHandler;
+
+/**
+ * 缓存异常处理：记录并计数后忽略，调用方直接执行被缓存的方法（查数据库）
+ * 两级缓存内部已处理 Redis 异常，这里兜住其余情况（如未启用本地层时直接访问 Redis）
+ */
+@Slf4j
+public class DegradingCacheErrorHandler implements CacheErrorHandler {
+
+    private final MeterRegistry meterRegistry;
+
+    public DegradingCacheErrorHandler(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void handleCacheGetError(RuntimeException exception, Cache cache, Object key) {
+        record("get", exception, cache, key);
+    }
+
+    @Override
+    public void handleCachePutError(RuntimeException exception, Cache cache, Object key, Object value) {
+        record("put", exception, cache, key);
+    }
+
+    @Override
+    public void handleCacheEvictError(RuntimeException exception, Cache cache, Object key) {
+        record("evict", exception, cache, key);
+    }
+
+    @Override
+    public void handleCacheClearError(RuntimeException exception, Cache cache) {
+        record("clear", exception, cache, null);
+    }
+
+    private void record(String operation, RuntimeException exception, Cache cache, Object key) {
+        meterRegistry.counter("cache.errors", "cache", cache.getName(), "operation", operation).increment();
+        log.warn("缓存操作失败，降级执行: {} {}::{} {}", operation, cache.getName(), key, exception.getMessage());
+    }
+}
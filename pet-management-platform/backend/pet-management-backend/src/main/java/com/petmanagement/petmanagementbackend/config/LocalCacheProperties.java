@@ -0,0 +1,49 @@
+package com.petmanagement.petmanagementbackend.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 本地一级缓存配置
+ * app.cache.local.ttl / max-size 为默认值，
+ * app.cache.local.caches.&lt;缓存名&gt;.ttl / max-size 按缓存名覆盖，
+ * app.cache.local.refresh-ahead-* 控制临近 Redis 过期时的提前刷新
+ */
+@Data
+@ConfigurationProperties(prefix = "app.cache.local")
+public class LocalCacheProperties {
+
+    private boolean enabled = true;
+
+    private Duration ttl = Duration.ofMinutes(5);
+
+    private long maxSize = 1000;
+
+    private Map<String, Spec> caches = new HashMap<>();
+
+    // XFetch 提前刷新系数，0 表示关闭
+    private double refreshAheadBeta = 1.0;
+
+    // 计算提前刷新窗口时加载耗时的下限
+    private Duration refreshAheadMinDelta = Duration.ofSeconds(1);
+
+    public Duration ttlFor(String cacheName) {
+        Spec spec = caches.get(cacheName);
+        return spec != null && spec.getTtl() != null ? spec.getTtl() : ttl;
+    }
+
+    public long maxSizeFor(String cacheName) {
+        Spec spec = caches.get(cacheName);
+        return spec != null && spec.getMaxSize() != null ? spec.getMaxSize() : maxSize;
+    }
+
+    @Data
+    public static class Spec {
+        private Duration ttl;
+        private Long maxSize;
+    }
+}
@@ -0,0 +1,107 @@
+package com.petmanagement.petmanagementbackend.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Redis 熔断器
+ * 连续失败达到阈值后断开，期间缓存操作直接跳过（走本地缓存/数据库）；
+ * 断开一段时间后放行一个试探请求，成功即恢复并通知监听方。
+ */
+@Component
+@Slf4j
+public class RedisCircuitBreaker {
+
+    enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final int failureThreshold;
+
+    private final long openMillis;
+
+    private final AtomicReference<State> state = new AtomicReference<>(State.CLOSED);
+
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+
+    private volatile long openedAt;
+
+    private final List<Runnable> recoveryListeners = new CopyOnWriteArrayList<>();
+
+    private final Counter failures;
+    private final Counter skipped;
+    private final Counter opened;
+
+    public RedisCircuitBreaker(@Value("${app.cache.redis-breaker.failure-threshold:3}") int failureThreshold,
+                               @Value("${app.cache.redis-breaker.open-ms:10000}") long openMillis,
+                               MeterRegistry meterRegistry) {
+        this.failureThreshold = failureThreshold;
+        this.openMillis = openMillis;
+
+        this.failures = Counter.builder("cache.redis.failures")
+                .description("失败的 Redis 缓存操作")
+                .register(meterRegistry);
+        this.skipped = Counter.builder("cache.redis.skipped")
+                .description("熔断期间跳过的 Redis 缓存操作")
+                .register(meterRegistry);
+        this.opened = Counter.builder("cache.redis.circuit.opened")
+                .description("熔断器断开次数")
+                .register(meterRegistry);
+        Gauge.builder("cache.redis.circuit.open", state, s -> s.get() == State.CLOSED ? 0 : 1)
+                .description("1 表示 Redis 处于熔断（降级运行）")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 是否可以访问 Redis；断开超时后只放行一个试探请求
+     */
+    public boolean allowRequest() {
+        State current = state.get();
+        if (current == State.CLOSED) {
+            return true;
+        }
+        if (current == State.OPEN && System.currentTimeMillis() - openedAt >= openMillis
+                && state.compareAndSet(State.OPEN, State.HALF_OPEN)) {
+            return true;
+        }
+        skipped.increment();
+        return false;
+    }
+
+    public void onSuccess() {
+        consecutiveFailures.set(0);
+        if (state.getAndSet(State.CLOSED) != State.CLOSED) {
+            log.info("Redis 已恢复，退出降级模式");
+            recoveryListeners.forEach(Runnable::run);
+        }
+    }
+
+    public void onFailure(Exception e) {
+        failures.increment();
+        if (state.get() == State.HALF_OPEN || consecutiveFailures.incrementAndGet() >= failureThreshold) {
+            openedAt = System.currentTimeMillis();
+            if (state.getAndSet(State.OPEN) != State.OPEN) {
+                opened.increment();
+                log.warn("Redis 不可用，缓存降级为本地/数据库: {}", e.getMessage());
+            }
+        }
+    }
+
+    public boolean isOpen() {
+        return state.get() != State.CLOSED;
+    }
+
+    /**
+     * 注册恢复回调（在恢复的那次调用线程中执行，需尽快返回）
+     */
+    public void addRecoveryListener(Runnable listener) {
+        recoveryListeners.add(listener);
+    }
+}
@@ -0,0 +1,406 @@
+package com.petmanagement.petmanagementbackend.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 两级缓存：本地 Caffeine（L1）+ Redis（L2）
+ * 读取先查 L1，未命中再查 L2 并回填 L1；写入和失效同时作用于两级，
+ * 并通过 TwoLevelCacheManager 广播，其他节点据此清除各自的 L1。
+ * <p>
+ * 带加载器的读取（@Cacheable(sync = true)）在本节点内对同一个键只执行一次加载，
+ * 并发请求等待同一个结果；临近 Redis 过期时按 XFetch 概率提前在后台刷新，热点键不会整体过期。
+ * <p>
+ * Redis 操作经过 RedisCircuitBreaker：失败或熔断时按 L2 未命中处理，写入跳过，
+ * 跳过的失效记录下来，Redis 恢复后补做。
+ * <p>
+ * 失效会递增键所在分段的代数；加载或回填开始后代数变化说明期间发生过失效，
+ * 结果仍返回给调用方，但不再写入缓存，避免旧数据覆盖失效。
+ */
+@Slf4j
+public class TwoLevelCache implements Cache {
+
+    private final String name;
+
+    private final Cache remote;
+
+    // 值包装后存入，以便缓存 null，同时记录 Redis 层的过期时间
+    private final com.github.benmanes.caffeine.cache.Cache<Object, LocalEntry> local;
+
+    private final TwoLevelCacheManager manager;
+
+    private final RedisCircuitBreaker circuitBreaker;
+
+    // 熔断期间未能同步到 Redis 的失效，超过上限时改为恢复后清空整个缓存
+    private static final int MAX_PENDING_EVICTIONS = 1000;
+    private final Set<Object> pendingEvictions = ConcurrentHashMap.newKeySet();
+    private volatile boolean pendingClear;
+
+    // 正在加载（或后台刷新）的键
+    private final Map<Object, CompletableFuture<Object>> inflight = new ConcurrentHashMap<>();
+
+    // 失效代数：按键哈希分段计数，clear 递增全局代数
+    private static final int GENERATION_STRIPES = 64;
+    private final AtomicLongArray keyGenerations = new AtomicLongArray(GENERATION_STRIPES);
+    private final AtomicLong clearGeneration = new AtomicLong();
+
+    private final double refreshAheadBeta;
+    private final long refreshAheadMinDeltaMs;
+
+    private final Counter l1Hits;
+    private final Counter l1Misses;
+    private final Counter l2Hits;
+    private final Counter l2Misses;
+    private final Counter coalesced;
+    private final Counter earlyRefreshes;
+    private final Timer loadTimer;
+
+    TwoLevelCache(String name, Cache remote,
+                  com.github.benmanes.caffeine.cache.Cache<Object, LocalEntry> local,
+                  TwoLevelCacheManager manager, LocalCacheProperties properties,
+                  MeterRegistry meterRegistry) {
+        this.name = name;
+        this.remote = remote;
+        this.local = local;
+        this.manager = manager;
+        this.circuitBreaker = manager.circuitBreaker();
+        this.refreshAheadBeta = properties.getRefreshAheadBeta();
+        this.refreshAheadMinDeltaMs = properties.getRefreshAheadMinDelta().toMillis();
+
+        this.l1Hits = requests(meterRegistry, "l1", "hit");
+        this.l1Misses = requests(meterRegistry, "l1", "miss");
+        this.l2Hits = requests(meterRegistry, "l2", "hit");
+        this.l2Misses = requests(meterRegistry, "l2", "miss");
+        this.coalesced = Counter.builder("cache.twolevel.coalesced")
+                .description("等待其他线程加载结果的请求数")
+                .tag("cache", name)
+                .register(meterRegistry);
+        this.earlyRefreshes = Counter.builder("cache.twolevel.refresh.ahead")
+                .description("过期前提前刷新的次数")
+                .tag("cache", name)
+                .register(meterRegistry);
+        this.loadTimer = Timer.builder("cache.twolevel.load")
+                .description("缓存未命中时加载数据的耗时")
+                .tag("cache", name)
+                .register(meterRegistry);
+        Gauge.builder("cache.twolevel.l1.size", local, c -> c.estimatedSize())
+                .tag("cache", name)
+                .register(meterRegistry);
+    }
+
+    private Counter requests(MeterRegistry meterRegistry, String level, String result) {
+        return Counter.builder("cache.twolevel.requests")
+                .tag("cache", name)
+                .tag("level", level)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return local;
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        LocalEntry entry = local.getIfPresent(key);
+        if (entry != null) {
+            l1Hits.increment();
+            return entry;
+        }
+        l1Misses.increment();
+
+        long generation = generation(key);
+        ValueWrapper wrapper = remoteGet(key);
+        if (wrapper == null) {
+            l2Misses.increment();
+            return null;
+        }
+        l2Hits.increment();
+        entry = new LocalEntry(wrapper.get(), remoteExpiresAt(key));
+        if (generation(key) == generation) {
+            local.put(key, entry);
+        }
+        return entry;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        Object value = wrapper != null ? wrapper.get() : null;
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException(
+                    "Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        LocalEntry entry = (LocalEntry) get(key);
+        if (entry != null) {
+            if (shouldRefreshEarly(entry.remoteExpiresAt)) {
+                refreshAsync(key, valueLoader);
+            }
+            return (T) entry.get();
+        }
+
+        CompletableFuture<Object> mine = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inflight.putIfAbsent(key, mine);
+        if (existing != null) {
+            coalesced.increment();
+            try {
+                return (T) existing.join();
+            } catch (CompletionException e) {
+                throw new ValueRetrievalException(key, valueLoader, e.getCause());
+            }
+        }
+
+        try {
+            T value = load(key, valueLoader);
+            mine.complete(value);
+            return value;
+        } catch (Exception e) {
+            mine.completeExceptionally(e);
+            throw new ValueRetrievalException(key, valueLoader, e);
+        } finally {
+            inflight.remove(key, mine);
+        }
+    }
+
+    private <T> T load(Object key, Callable<T> valueLoader) throws Exception {
+        long generation = generation(key);
+        long start = System.nanoTime();
+        T value;
+        try {
+            value = valueLoader.call();
+        } finally {
+            loadTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+        // 加载期间该键被失效过，结果可能是旧数据，不写入缓存
+        if (generation(key) == generation) {
+            put(key, value);
+        }
+        return value;
+    }
+
+    private long generation(Object key) {
+        return clearGeneration.get() + keyGenerations.get(stripe(key));
+    }
+
+    private static int stripe(Object key) {
+        int h = key.hashCode();
+        return (h ^ (h >>> 16)) & (GENERATION_STRIPES - 1);
+    }
+
+    // 使进行中的加载结果作废，后续请求重新加载
+    private void invalidateInflight(Object key) {
+        keyGenerations.incrementAndGet(stripe(key));
+        inflight.remove(key);
+    }
+
+    private void invalidateAllInflight() {
+        clearGeneration.incrementAndGet();
+        inflight.clear();
+    }
+
+    /**
+     * XFetch：剩余时间 <= delta * beta * -ln(rand) 时提前刷新，
+     * delta 取平均加载耗时（不低于配置的下限），越接近过期刷新概率越高
+     */
+    private boolean shouldRefreshEarly(long remoteExpiresAt) {
+        if (refreshAheadBeta <= 0 || remoteExpiresAt == Long.MAX_VALUE) {
+            return false;
+        }
+        double delta = Math.max(loadTimer.mean(TimeUnit.MILLISECONDS), refreshAheadMinDeltaMs);
+        double random = 1.0 - ThreadLocalRandom.current().nextDouble();
+        long remaining = remoteExpiresAt - System.currentTimeMillis();
+        return remaining <= -delta * refreshAheadBeta * Math.log(random);
+    }
+
+    private void refreshAsync(Object key, Callable<?> valueLoader) {
+        CompletableFuture<Object> mine = new CompletableFuture<>();
+        if (inflight.putIfAbsent(key, mine) != null) {
+            return;
+        }
+        try {
+            manager.refreshExecutor().execute(() -> {
+                try {
+                    mine.complete(load(key, valueLoader));
+                    earlyRefreshes.increment();
+                } catch (Exception e) {
+                    mine.completeExceptionally(e);
+                    log.warn("缓存提前刷新失败: {}::{} {}", name, key, e.getMessage());
+                } finally {
+                    inflight.remove(key, mine);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // 刷新队列已满，本次跳过，到期后按正常未命中加载
+            inflight.remove(key, mine);
+        }
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        boolean stored = remoteWrite(() -> remote.put(key, value));
+        local.put(key, new LocalEntry(value, stored ? expiresAfterPut(key, value) : Long.MAX_VALUE));
+        manager.publishEvict(name, key);
+    }
+
+    @Override
+    public void evict(Object key) {
+        invalidateInflight(key);
+        if (!remoteWrite(() -> remote.evict(key))) {
+            if (pendingEvictions.size() < MAX_PENDING_EVICTIONS) {
+                pendingEvictions.add(key);
+            } else {
+                pendingClear = true;
+            }
+        }
+        local.invalidate(key);
+        manager.publishEvict(name, key);
+    }
+
+    @Override
+    public void clear() {
+        invalidateAllInflight();
+        if (!remoteWrite(remote::clear)) {
+            pendingClear = true;
+        }
+        local.invalidateAll();
+        manager.publishClear(name);
+    }
+
+    /**
+     * Redis 恢复后补做降级期间的失效，并通知其他节点清空本地层
+     */
+    void replayPendingEvictions() {
+        if (!pendingClear && pendingEvictions.isEmpty()) {
+            return;
+        }
+        if (pendingClear) {
+            pendingClear = false;
+            pendingEvictions.clear();
+            if (!remoteWrite(remote::clear)) {
+                pendingClear = true;
+                return;
+            }
+        } else {
+            for (Object key : pendingEvictions) {
+                if (!remoteWrite(() -> remote.evict(key))) {
+                    return;
+                }
+                pendingEvictions.remove(key);
+            }
+        }
+        log.info("Redis 恢复后已补做缓存失效: {}", name);
+        manager.publishClear(name);
+    }
+
+    private ValueWrapper remoteGet(Object key) {
+        if (!circuitBreaker.allowRequest()) {
+            return null;
+        }
+        try {
+            ValueWrapper wrapper = remote.get(key);
+            circuitBreaker.onSuccess();
+            return wrapper;
+        } catch (RuntimeException e) {
+            circuitBreaker.onFailure(e);
+            return null;
+        }
+    }
+
+    // 返回是否已写入 Redis
+    private boolean remoteWrite(Runnable operation) {
+        if (!circuitBreaker.allowRequest()) {
+            return false;
+        }
+        try {
+            operation.run();
+            circuitBreaker.onSuccess();
+            return true;
+        } catch (RuntimeException e) {
+            circuitBreaker.onFailure(e);
+            return false;
+        }
+    }
+
+    // 收到其他节点的失效广播时只清本地
+    void evictLocal(Object key) {
+        invalidateInflight(key);
+        local.invalidate(key);
+    }
+
+    void clearLocal() {
+        invalidateAllInflight();
+        local.invalidateAll();
+    }
+
+    // 本节点写入时按缓存配置计算 Redis 过期时间
+    private long expiresAfterPut(Object key, Object value) {
+        if (refreshAheadBeta <= 0 || !(remote instanceof RedisCache redisCache)) {
+            return Long.MAX_VALUE;
+        }
+        Duration ttl = redisCache.getCacheConfiguration().getTtlFunction().getTimeToLive(key, value);
+        return ttl.isZero() || ttl.isNegative() ? Long.MAX_VALUE : System.currentTimeMillis() + ttl.toMillis();
+    }
+
+    // 从 Redis 读入 L1 时查询剩余 TTL（仅字符串键）
+    private long remoteExpiresAt(Object key) {
+        if (refreshAheadBeta <= 0 || !(key instanceof String) || !(remote instanceof RedisCache redisCache)) {
+            return Long.MAX_VALUE;
+        }
+        RedisCacheConfiguration config = redisCache.getCacheConfiguration();
+        String redisKey = config.usePrefix() ? config.getKeyPrefixFor(name) + key : (String) key;
+        long ttlMs = manager.remoteTtlMillis(redisKey);
+        return ttlMs > 0 ? System.currentTimeMillis() + ttlMs : Long.MAX_VALUE;
+    }
+
+    /**
+     * 本地缓存项
+     */
+    static final class LocalEntry implements ValueWrapper {
+        private final Object value;
+
+        // Redis 层过期时间（毫秒时间戳），未知或不过期为 Long.MAX_VALUE
+        private final long remoteExpiresAt;
+
+        LocalEntry(Object value, long remoteExpiresAt) {
+            this.value = value;
+            this.remoteExpiresAt = remoteExpiresAt;
+        }
+
+        @Override
+        public Object get() {
+            return value;
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package com.petmanagement.petmanagementbackend.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 两级缓存管理器
+ * 在 RedisCacheManager 前面为每个缓存加一层本地 Caffeine 缓存（按缓存名配置 TTL 和容量），
+ * 写入/失效时通过 Redis pub/sub 通知其他节点清除本地缓存。
+ */
+@Slf4j
+public class TwoLevelCacheManager implements CacheManager, MessageListener, DisposableBean {
+
+    public static final String INVALIDATION_CHANNEL = "cache:invalidate";
+
+    // 消息格式：节点ID|缓存名|E|键 或 节点ID|缓存名|C|
+    private static final String SEPARATOR = "|";
+
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final RedisCacheManager redisCacheManager;
+    private final LocalCacheProperties properties;
+    private final StringRedisTemplate redisTemplate;
+    private final MeterRegistry meterRegistry;
+    private final RedisCircuitBreaker circuitBreaker;
+
+    private final Map<String, TwoLevelCache> caches = new ConcurrentHashMap<>();
+
+    // 后台提前刷新，队列满时丢弃（到期后按正常未命中加载）
+    private final ThreadPoolExecutor refreshExecutor = new ThreadPoolExecutor(
+            1, 2, 60L, TimeUnit.SECONDS, new ArrayBlockingQueue<>(100),
+            runnable -> {
+                Thread thread = new Thread(runnable, "cache-refresh");
+                thread.setDaemon(true);
+                return thread;
+            },
+            new ThreadPoolExecutor.AbortPolicy());
+
+    public TwoLevelCacheManager(RedisCacheManager redisCacheManager, LocalCacheProperties properties,
+                                StringRedisTemplate redisTemplate, MeterRegistry meterRegistry,
+                                RedisCircuitBreaker circuitBreaker) {
+        this.redisCacheManager = redisCacheManager;
+        this.properties = properties;
+        this.redisTemplate = redisTemplate;
+        this.meterRegistry = meterRegistry;
+        this.circuitBreaker = circuitBreaker;
+        circuitBreaker.addRecoveryListener(this::onRedisRecovered);
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        Cache remote = redisCacheManager.getCache(name);
+        if (remote == null || !properties.isEnabled()) {
+            return remote;
+        }
+        return caches.computeIfAbsent(name, n -> new TwoLevelCache(n, remote,
+                Caffeine.newBuilder()
+                        .expireAfterWrite(properties.ttlFor(n))
+                        .maximumSize(properties.maxSizeFor(n))
+                        .build(),
+                this, properties, meterRegistry));
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return redisCacheManager.getCacheNames();
+    }
+
+    Executor refreshExecutor() {
+        return refreshExecutor;
+    }
+
+    RedisCircuitBreaker circuitBreaker() {
+        return circuitBreaker;
+    }
+
+    /**
+     * Redis 键的剩余 TTL（毫秒），键不存在、不过期或 Redis 不可用时返回负数
+     */
+    long remoteTtlMillis(String redisKey) {
+        if (!circuitBreaker.allowRequest()) {
+            return -1;
+        }
+        try {
+            Long ttl = redisTemplate.getExpire(redisKey, TimeUnit.MILLISECONDS);
+            circuitBreaker.onSuccess();
+            return ttl != null ? ttl : -1;
+        } catch (RuntimeException e) {
+            circuitBreaker.onFailure(e);
+            return -1;
+        }
+    }
+
+    // Redis 恢复后补做降级期间跳过的失效；期间可能漏收其他节点的广播，本地层一并清空
+    private void onRedisRecovered() {
+        caches.values().forEach(TwoLevelCache::clearLocal);
+        Runnable replay = () -> caches.values().forEach(TwoLevelCache::replayPendingEvictions);
+        try {
+            refreshExecutor.execute(replay);
+        } catch (RejectedExecutionException e) {
+            replay.run();
+        }
+    }
+
+    void publishEvict(String cacheName, Object key) {
+        // 非字符串键无法在其他节点还原，退化为清空该缓存的本地层
+        if (key instanceof String) {
+            publish(String.join(SEPARATOR, nodeId, cacheName, "E", (String) key));
+        } else {
+            publishClear(cacheName);
+        }
+    }
+
+    void publishClear(String cacheName) {
+        publish(String.join(SEPARATOR, nodeId, cacheName, "C", ""));
+    }
+
+    private void publish(String message) {
+        // 广播失败时其他节点的本地缓存最多滞后一个本地 TTL
+        if (!circuitBreaker.allowRequest()) {
+            return;
+        }
+        try {
+            redisTemplate.convertAndSend(INVALIDATION_CHANNEL, message);
+            circuitBreaker.onSuccess();
+        } catch (RuntimeException e) {
+            circuitBreaker.onFailure(e);
+            log.warn("缓存失效广播失败: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String[] parts = new String(message.getBody(), StandardCharsets.UTF_8).split("\\|", 4);
+        if (parts.length < 4 || nodeId.equals(parts[0])) {
+            return;
+        }
+        TwoLevelCache cache = caches.get(parts[1]);
+        if (cache == null) {
+            return;
+        }
+        if ("E".equals(parts[2])) {
+            cache.evictLocal(parts[3]);
+        } else {
+            cache.clearLocal();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        refreshExecutor.shutdown();
+    }
+}
@@ -0,0 +1,61 @@
+package com.petmanagement.petmanagementbackend.controllers;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.petmanagement.petmanagementbackend.payload.response.PetPageResponse;
+import com.petmanagement.petmanagementbackend.payload.response.PetResponse;
+import com.petmanagement.petmanagementbackend.service.PetService;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+@RestController
+@RequestMapping("/api/admin/pets")
+@CrossOrigin(origins = "*", maxAge = 3600)
+@RequiredArgsConstructor
+public class AdminPetController {
+
+    private final PetService petService;
+    private final ObjectMapper objectMapper;
+
+    // 分页查询宠物（键集分页，可按种类/品种/主人/客户过滤）
+    // 返回 {items, nextCursor, estimatedTotal}，逐条写出，不在内存中拼接整个响应体
+    @GetMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    public void getPets(@RequestParam(required = false) Long cursor,
+                        @RequestParam(defaultValue = "50") int size,
+                        @RequestParam(required = false) String speciesCode,
+                        @RequestParam(required = false) String breedCode,
+                        @RequestParam(required = false) Long ownerId,
+                        @RequestParam(required = false) Long customerId,
+                        HttpServletResponse response) throws IOException {
+        PetPageResponse page = petService.getPetPage(speciesCode, breedCode, ownerId, customerId, cursor, size);
+
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(response.getOutputStream())) {
+            generator.writeStartObject();
+            generator.writeArrayFieldStart("items");
+            for (PetResponse pet : page.getItems()) {
+                objectMapper.writeValue(generator, pet);
+            }
+            generator.writeEndArray();
+            writeNullableNumber(generator, "nextCursor", page.getNextCursor());
+            writeNullableNumber(generator, "estimatedTotal", page.getEstimatedTotal());
+            generator.writeEndObject();
+        }
+    }
+
+    private static void writeNullableNumber(JsonGenerator generator, String field, Long value) throws IOException {
+        if (value != null) {
+            generator.writeNumberField(field, value);
+        } else {
+            generator.writeNullField(field);
+        }
+    }
+}
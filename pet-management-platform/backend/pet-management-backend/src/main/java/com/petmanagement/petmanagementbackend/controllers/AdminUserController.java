@@ -7,6 +7,9 @@ import com.petmanagement.petmanagementbackend.models.UserType;
 import com.petmanagement.petmanagementbackend.payload.response.MessageResponse;
 import com.petmanagement.petmanagementbackend.repository.RoleRepository;
 import com.petmanagement.petmanagementbackend.repository.UserRepository;
+import com.petmanagement.petmanagementbackend.security.jwt.TokenRevocationRegistry;
+import com.petmanagement.petmanagementbackend.security.services.RefreshTokenService;
+import com.petmanagement.petmanagementbackend.security.services.UserDetailsCache;
 import jakarta.validation.Valid;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -15,6 +18,8 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.interceptor.TransactionAspectSupport;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.HashSet;
@@ -32,6 +37,9 @@ public class AdminUserController {
     private final UserRepository userRepository;
     private final RoleRepository roleRepository;
     private final PasswordEncoder passwordEncoder;
+    private final UserDetailsCache userDetailsCache;
+    private final TokenRevocationRegistry revocationRegistry;
+    private final RefreshTokenService refreshTokenService;
 
     // 获取所有用户
     @GetMapping
@@ -133,9 +141,11 @@ public class AdminUserController {
                 user.setEmail(request.getEmail());
             }
 
-            // 更新密码（如果提供）
+            // 更新密码（如果提供），已签发的令牌随之失效
+            boolean revokeTokens = false;
             if (request.getPassword() != null && !request.getPassword().isEmpty()) {
                 user.setPassword(passwordEncoder.encode(request.getPassword()));
+                revokeTokens = true;
             }
 
             // 更新其他字段
@@ -148,11 +158,20 @@ public class AdminUserController {
             if (request.getUserType() != null) {
                 user.setUserType(UserType.valueOf(request.getUserType()));
             }
-            if (request.getStatus() != null) {
+            if (request.getStatus() != null && !request.getStatus().equals(user.getStatus())) {
                 user.setStatus(request.getStatus());
+                revokeTokens = true;
+            }
+            if (revokeTokens) {
+                user.bumpTokenVersion();
             }
 
             User updatedUser = userRepository.save(user);
+            onSecurityChanged(updatedUser, revokeTokens);
+            if (revokeTokens) {
+                // 改密码或状态变更后需重新登录
+                refreshTokenService.revokeAll(updatedUser.getId());
+            }
             return new ResponseEntity<>(UserVO.from(updatedUser), HttpStatus.OK);
         } catch (Exception e) {
             return new ResponseEntity<>(new MessageResponse("Error: Failed to update user! " + e.getMessage()), 
@@ -161,17 +180,26 @@ public class AdminUserController {
     }
 
     // 删除用户
+    // 吊销记录与删除在同一事务中提交，其他节点据此使该用户的令牌失效
+    // 删除在 try 内 flush，外键等约束错误在此处捕获并回滚，本节点的内存吊销只在提交后生效
     @DeleteMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN')")
+    @Transactional
     public ResponseEntity<?> deleteUser(@PathVariable("id") Long id) {
         try {
-            if (!userRepository.existsById(id)) {
+            Optional<User> userData = userRepository.findById(id);
+            if (userData.isEmpty()) {
                 return new ResponseEntity<>(new MessageResponse("Error: User not found!"), HttpStatus.NOT_FOUND);
             }
 
+            revocationRegistry.revokeDeletedUser(id);
             userRepository.deleteById(id);
+            refreshTokenService.revokeAll(id);
+            userRepository.flush();
+            userDetailsCache.invalidate(userData.get().getUsername());
             return new ResponseEntity<>(new MessageResponse("User deleted successfully!"), HttpStatus.OK);
         } catch (Exception e) {
+            TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
             return new ResponseEntity<>(new MessageResponse("Error: Failed to delete user!"), 
                     HttpStatus.INTERNAL_SERVER_ERROR);
         }
@@ -200,7 +228,9 @@ public class AdminUserController {
             }
 
             user.setRoles(roles);
+            user.bumpTokenVersion();
             userRepository.save(user);
+            onSecurityChanged(user, true);
 
             return new ResponseEntity<>(new MessageResponse("Roles assigned successfully!"), HttpStatus.OK);
         } catch (Exception e) {
@@ -223,7 +253,12 @@ public class AdminUserController {
         try {
             User user = userData.get();
             user.setStatus(request.getStatus());
+            user.bumpTokenVersion();
             userRepository.save(user);
+            onSecurityChanged(user, true);
+            if (!Integer.valueOf(1).equals(request.getStatus())) {
+                refreshTokenService.revokeAll(userId);
+            }
 
             String statusText = request.getStatus() == 1 ? "enabled" : "disabled";
             return new ResponseEntity<>(new MessageResponse("User " + statusText + " successfully!"), HttpStatus.OK);
@@ -233,6 +268,14 @@ public class AdminUserController {
         }
     }
 
+    // 角色、状态、密码变更后：失效用户缓存，必要时吊销旧令牌
+    private void onSecurityChanged(User user, boolean revokeTokens) {
+        userDetailsCache.invalidate(user.getUsername());
+        if (revokeTokens) {
+            revocationRegistry.revoke(user.getId(), user.getTokenVersion());
+        }
+    }
+
     // 用户VO（视图对象）
     @Data
     @AllArgsConstructor
@@ -3,25 +3,31 @@ package com.petmanagement.petmanagementbackend.controllers;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.stream.Collectors;
 
 import com.petmanagement.petmanagementbackend.models.*;
 import com.petmanagement.petmanagementbackend.payload.request.LoginRequest;
 import com.petmanagement.petmanagementbackend.payload.request.SignupRequest;
+import com.petmanagement.petmanagementbackend.payload.request.TokenRefreshRequest;
 import com.petmanagement.petmanagementbackend.payload.response.JwtResponse;
 import com.petmanagement.petmanagementbackend.payload.response.MessageResponse;
 import com.petmanagement.petmanagementbackend.repository.RoleRepository;
 import com.petmanagement.petmanagementbackend.repository.UserRepository;
 import com.petmanagement.petmanagementbackend.security.jwt.JwtUtils;
+import com.petmanagement.petmanagementbackend.security.services.RefreshTokenService;
+import com.petmanagement.petmanagementbackend.security.services.SigninExecutor;
+import com.petmanagement.petmanagementbackend.security.services.TokenRefreshException;
 import com.petmanagement.petmanagementbackend.security.services.UserDetailsImpl;
 import jakarta.validation.Valid;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -48,28 +54,63 @@ public class AuthController {
     @Autowired
     JwtUtils jwtUtils;
 
+    @Autowired
+    SigninExecutor signinExecutor;
+
+    @Autowired
+    RefreshTokenService refreshTokenService;
+
     /**
      * 登录接口
+     * 密码校验在专用线程池中异步执行，队列已满时直接返回 503
      */
     @PostMapping("/signin")
-    public ResponseEntity<?> authenticateUser(@Valid @RequestBody LoginRequest loginRequest) {
+    public CompletableFuture<ResponseEntity<?>> authenticateUser(@Valid @RequestBody LoginRequest loginRequest) {
+        try {
+            return signinExecutor.submit(() -> signin(loginRequest));
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.completedFuture(ResponseEntity
+                    .status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header("Retry-After", "1")
+                    .body(new MessageResponse("登录请求繁忙，请稍后重试")));
+        }
+    }
 
+    private ResponseEntity<?> signin(LoginRequest loginRequest) {
         Authentication authentication = authenticationManager.authenticate(
                 new UsernamePasswordAuthenticationToken(loginRequest.getUsername(), loginRequest.getPassword()));
 
-        SecurityContextHolder.getContext().setAuthentication(authentication);
-        String jwt = jwtUtils.generateJwtToken(authentication);
-
         UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
+        String refreshToken = refreshTokenService.issue(userDetails.getId());
+
+        return ResponseEntity.ok(buildJwtResponse(userDetails, refreshToken));
+    }
+
+    /**
+     * 刷新令牌接口：换取新的访问令牌，刷新令牌同时轮换
+     */
+    @PostMapping("/refresh")
+    public ResponseEntity<?> refreshToken(@Valid @RequestBody TokenRefreshRequest request) {
+        try {
+            RefreshTokenService.Rotation rotation = refreshTokenService.rotate(request.getRefreshToken());
+            return ResponseEntity.ok(buildJwtResponse(rotation.getUserDetails(), rotation.getRefreshToken()));
+        } catch (TokenRefreshException e) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(new MessageResponse(e.getMessage()));
+        }
+    }
+
+    private JwtResponse buildJwtResponse(UserDetailsImpl userDetails, String refreshToken) {
+        String jwt = jwtUtils.generateJwtToken(userDetails);
         List<String> roles = userDetails.getAuthorities().stream()
                 .map(item -> item.getAuthority())
                 .collect(Collectors.toList());
 
-        return ResponseEntity.ok(new JwtResponse(jwt,
+        return new JwtResponse(jwt,
+                refreshToken,
                 userDetails.getId(),
                 userDetails.getUsername(),
                 userDetails.getEmail(),
-                roles));
+                roles);
     }
 
     /**
@@ -1,9 +1,16 @@
 package com.petmanagement.petmanagementbackend.controllers;
 
+import com.petmanagement.petmanagementbackend.payload.DictValueDTO;
 import com.petmanagement.petmanagementbackend.service.BaseDictService;
+import com.petmanagement.petmanagementbackend.service.CommonDictBundle;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 import java.util.Map;
@@ -11,6 +18,7 @@ import java.util.Map;
 /**
  * 基础数据字典接口
  * 提供基础数据的查询API
+ * 查询接口返回基于字典内容的强 ETag，If-None-Match 命中时直接返回 304
  */
 @RestController
 @RequestMapping("/api/base-dict")
@@ -19,6 +27,10 @@ import java.util.Map;
 public class BaseDictController {
     
     private final BaseDictService baseDictService;
+    private final CommonDictBundle commonDictBundle;
+    
+    // 浏览器可缓存，但每次使用前须用 ETag 重新验证，字典变更后立即生效
+    private static final CacheControl DICT_CACHE_CONTROL = CacheControl.noCache().cachePublic();
     
     /**
      * 获取字典值列表（所有端可调用）
@@ -28,11 +40,15 @@ public class BaseDictController {
      * @return 字典值列表
      */
     @GetMapping("/values/{dictCode}")
-    public ResponseEntity<List<Map<String, Object>>> getDictValues(
-            @PathVariable String dictCode) {
+    public ResponseEntity<List<DictValueDTO>> getDictValues(
+            @PathVariable String dictCode,
+            WebRequest request) {
         
-        List<Map<String, Object>> values = baseDictService.getDictValues(dictCode);
-        return ResponseEntity.ok(values);
+        if (notModified(request, baseDictService.getDictEtag(dictCode))) {
+            return null;
+        }
+        List<DictValueDTO> values = baseDictService.getDictValues(dictCode);
+        return ResponseEntity.ok().cacheControl(DICT_CACHE_CONTROL).body(values);
     }
     
     /**
@@ -44,13 +60,17 @@ public class BaseDictController {
      * @return 子级字典值列表
      */
     @GetMapping("/values/{dictCode}/by-species/{speciesCode}")
-    public ResponseEntity<List<Map<String, Object>>> getBreedsBySpecies(
+    public ResponseEntity<List<DictValueDTO>> getBreedsBySpecies(
             @PathVariable String dictCode,
-            @PathVariable String speciesCode) {
+            @PathVariable String speciesCode,
+            WebRequest request) {
         
-        List<Map<String, Object>> values = baseDictService
+        if (notModified(request, baseDictService.getDictEtag(dictCode, speciesCode))) {
+            return null;
+        }
+        List<DictValueDTO> values = baseDictService
             .getDictValuesBySpecies(dictCode, speciesCode);
-        return ResponseEntity.ok(values);
+        return ResponseEntity.ok().cacheControl(DICT_CACHE_CONTROL).body(values);
     }
     
     /**
@@ -62,15 +82,19 @@ public class BaseDictController {
      * @return 字典值
      */
     @GetMapping("/value/{dictCode}/{valueCode}")
-    public ResponseEntity<Map<String, Object>> getDictValue(
+    public ResponseEntity<DictValueDTO> getDictValue(
             @PathVariable String dictCode,
-            @PathVariable String valueCode) {
+            @PathVariable String valueCode,
+            WebRequest request) {
         
-        Map<String, Object> value = baseDictService.getDictValue(dictCode, valueCode);
+        if (notModified(request, baseDictService.getDictEtag(dictCode))) {
+            return null;
+        }
+        DictValueDTO value = baseDictService.getDictValue(dictCode, valueCode);
         if (value == null) {
             return ResponseEntity.notFound().build();
         }
-        return ResponseEntity.ok(value);
+        return ResponseEntity.ok().cacheControl(DICT_CACHE_CONTROL).body(value);
     }
     
     /**
@@ -93,20 +117,72 @@ public class BaseDictController {
     /**
      * 获取所有常用的基础数据（前端一次性加载）
      * GET /api/base-dict/all-common
+     * 响应按字典版本预渲染，客户端接受 gzip 时直接返回压缩后的字节；
+     * 压缩与未压缩的表示使用不同的 ETag（压缩版加 -gz 后缀）
      * 
      * @return 所有常用基础数据
      */
     @GetMapping("/all-common")
-    public ResponseEntity<Map<String, List<Map<String, Object>>>> getAllCommonDict() {
-        Map<String, List<Map<String, Object>>> result = Map.of(
-            "petSpecies", baseDictService.getDictValues("pet_species"),
-            "petGender", baseDictService.getDictValues("pet_gender"),
-            "petSize", baseDictService.getDictValues("pet_size"),
-            "medicalService", baseDictService.getDictValues("medical_service"),
-            "fosterService", baseDictService.getDictValues("foster_service"),
-            "beautyService", baseDictService.getDictValues("beauty_service"),
-            "merchantType", baseDictService.getDictValues("merchant_type")
-        );
-        return ResponseEntity.ok(result);
+    public ResponseEntity<byte[]> getAllCommonDict(WebRequest request, HttpServletResponse servletResponse) {
+        CommonDictBundle.Rendered bundle = commonDictBundle.get();
+        boolean gzip = acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+        
+        // 304 响应同样需要 Vary，共享缓存才不会混用两种表示
+        servletResponse.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        String etag = bundle.getEtag() != null && gzip ? bundle.getEtag() + "-gz" : bundle.getEtag();
+        if (notModified(request, etag)) {
+            return null;
+        }
+        
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+            .cacheControl(DICT_CACHE_CONTROL)
+            .contentType(MediaType.APPLICATION_JSON);
+        if (gzip) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(bundle.getGzip());
+        }
+        return response.body(bundle.getIdentity());
+    }
+    
+    /**
+     * Accept-Encoding 是否接受 gzip：按 q 值判断，gzip;q=0 表示拒绝，未列出 gzip 时看 *
+     */
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        Double gzipQ = null;
+        Double wildcardQ = null;
+        for (String part : acceptEncoding.split(",")) {
+            String[] params = part.split(";");
+            String coding = params[0].trim();
+            double q = 1.0;
+            for (int i = 1; i < params.length; i++) {
+                String param = params[i].trim();
+                if (param.regionMatches(true, 0, "q=", 0, 2)) {
+                    try {
+                        q = Double.parseDouble(param.substring(2).trim());
+                    } catch (NumberFormatException e) {
+                        q = 0;
+                    }
+                }
+            }
+            if (coding.equalsIgnoreCase("gzip") || coding.equalsIgnoreCase("x-gzip")) {
+                gzipQ = gzipQ == null ? q : Math.max(gzipQ, q);
+            } else if (coding.equals("*")) {
+                wildcardQ = q;
+            }
+        }
+        if (gzipQ != null) {
+            return gzipQ > 0;
+        }
+        return wildcardQ != null && wildcardQ > 0;
+    }
+    
+    /**
+     * 条件请求检查：写入 ETag 响应头，If-None-Match 匹配时由框架返回 304
+     * etag 为 null（字典快照尚未加载）时不做处理
+     */
+    private boolean notModified(WebRequest request, String etag) {
+        return etag != null && request.checkNotModified(etag);
     }
 }
\ No newline at end of file
@@ -1,20 +1,26 @@
 package com.petmanagement.petmanagementbackend.controllers;
 
 import com.petmanagement.petmanagementbackend.models.HealthRecord;
-import com.petmanagement.petmanagementbackend.models.Pet;
+import com.petmanagement.petmanagementbackend.payload.response.HealthRecordPageResponse;
+import com.petmanagement.petmanagementbackend.payload.response.HealthRecordSummary;
 import com.petmanagement.petmanagementbackend.payload.response.MessageResponse;
 import com.petmanagement.petmanagementbackend.repository.HealthRecordRepository;
 import com.petmanagement.petmanagementbackend.repository.PetRepository;
 import com.petmanagement.petmanagementbackend.security.services.UserDetailsImpl;
+import com.petmanagement.petmanagementbackend.service.VaccinationReminderService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.interceptor.TransactionAspectSupport;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 
@@ -29,29 +35,66 @@ public class HealthRecordController {
     @Autowired
     PetRepository petRepository;
 
+    @Autowired
+    VaccinationReminderService vaccinationReminderService;
+
+    // 分页查询单页上限
+    private static final int MAX_PAGE_SIZE = 200;
+
     // 获取宠物的所有健康记录
     @GetMapping("/pet/{petId}")
     @PreAuthorize("hasRole('USER') or hasRole('MERCHANT_HOSPITAL') or hasRole('MERCHANT_HOUSE') or hasRole('MERCHANT_GOODS') or hasRole('ADMIN')")
     public ResponseEntity<List<HealthRecord>> getHealthRecordsByPetId(@PathVariable("petId") Long petId) {
         try {
-            Optional<Pet> petData = petRepository.findById(petId);
-            if (petData.isEmpty()) {
-                return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+            Long ownerId = ownerScope();
+            List<HealthRecord> healthRecords = healthRecordRepository.findAccessibleByPetId(petId, ownerId);
+            if (healthRecords.isEmpty()) {
+                HttpStatus failure = petAccessFailure(petId, ownerId);
+                if (failure != null) {
+                    return new ResponseEntity<>(failure);
+                }
             }
-            Pet pet = petData.get();
-
-            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-            UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
+            return new ResponseEntity<>(healthRecords, HttpStatus.OK);
+        } catch (Exception e) {
+            return new ResponseEntity<>(null, HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
 
-            // 宠物主人只能查看自己宠物的健康记录
-            if (authentication.getAuthorities().stream().anyMatch(a -> a.getAuthority().equals("ROLE_USER"))) {
-                if (!pet.getOwnerId().equals(userDetails.getId())) {
-                    return new ResponseEntity<>(HttpStatus.FORBIDDEN);
+    // 分页查询宠物的健康记录摘要（按记录日期倒序，可按日期范围和类型过滤）
+    // 下一页传上一页返回的 nextBeforeDate/nextBeforeId；includeText=true 时返回描述和备注
+    @GetMapping("/pet/{petId}/summary")
+    @PreAuthorize("hasRole('USER') or hasRole('MERCHANT_HOSPITAL') or hasRole('MERCHANT_HOUSE') or hasRole('MERCHANT_GOODS') or hasRole('ADMIN')")
+    public ResponseEntity<HealthRecordPageResponse> getHealthRecordSummary(
+            @PathVariable("petId") Long petId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String recordType,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate beforeDate,
+            @RequestParam(required = false) Long beforeId,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "false") boolean includeText) {
+        try {
+            Long ownerId = ownerScope();
+
+            // 多取一条判断是否有下一页
+            int limit = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+            List<HealthRecordSummary> records = healthRecordRepository.findSummaryPage(
+                    petId, ownerId, from, to, recordType, beforeDate, beforeId, includeText, limit + 1);
+            if (records.isEmpty()) {
+                HttpStatus failure = petAccessFailure(petId, ownerId);
+                if (failure != null) {
+                    return new ResponseEntity<>(failure);
                 }
             }
-
-            List<HealthRecord> healthRecords = healthRecordRepository.findByPetId(petId);
-            return new ResponseEntity<>(healthRecords, HttpStatus.OK);
+            LocalDate nextBeforeDate = null;
+            Long nextBeforeId = null;
+            if (records.size() > limit) {
+                records = records.subList(0, limit);
+                HealthRecordSummary last = records.get(limit - 1);
+                nextBeforeDate = last.getRecordDate();
+                nextBeforeId = last.getId();
+            }
+            return new ResponseEntity<>(new HealthRecordPageResponse(records, nextBeforeDate, nextBeforeId), HttpStatus.OK);
         } catch (Exception e) {
             return new ResponseEntity<>(null, HttpStatus.INTERNAL_SERVER_ERROR);
         }
@@ -61,131 +104,132 @@ public class HealthRecordController {
     @GetMapping("/{id}")
     @PreAuthorize("hasRole('USER') or hasRole('MERCHANT_HOSPITAL') or hasRole('MERCHANT_HOUSE') or hasRole('MERCHANT_GOODS') or hasRole('ADMIN')")
     public ResponseEntity<HealthRecord> getHealthRecordById(@PathVariable("id") Long id) {
-        Optional<HealthRecord> healthRecordData = healthRecordRepository.findById(id);
+        Long ownerId = ownerScope();
+        Optional<HealthRecord> healthRecordData = healthRecordRepository.findAccessibleById(id, ownerId);
 
         if (healthRecordData.isPresent()) {
-            HealthRecord healthRecord = healthRecordData.get();
-            Optional<Pet> petData = petRepository.findById(healthRecord.getPetId());
-            if (petData.isEmpty()) {
-                return new ResponseEntity<>(HttpStatus.NOT_FOUND);
-            }
-            Pet pet = petData.get();
-
-            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-            UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
-
-            // 宠物主人只能查看自己宠物的健康记录
-            if (authentication.getAuthorities().stream().anyMatch(a -> a.getAuthority().equals("ROLE_USER"))) {
-                if (!pet.getOwnerId().equals(userDetails.getId())) {
-                    return new ResponseEntity<>(HttpStatus.FORBIDDEN);
-                }
-            }
-            return new ResponseEntity<>(healthRecord, HttpStatus.OK);
+            return new ResponseEntity<>(healthRecordData.get(), HttpStatus.OK);
         } else {
-            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+            return new ResponseEntity<>(recordAccessFailure(id, ownerId));
         }
     }
 
     // 创建健康记录
+    // 记录与疫苗提醒在同一事务中提交；在 try 内 flush，失败时整体回滚并返回 500
     @PostMapping
     @PreAuthorize("hasRole('USER') or hasRole('MERCHANT_HOSPITAL') or hasRole('MERCHANT_HOUSE') or hasRole('MERCHANT_GOODS') or hasRole('ADMIN')")
+    @Transactional
     public ResponseEntity<?> createHealthRecord(@Valid @RequestBody HealthRecord healthRecord) {
         try {
-            Optional<Pet> petData = petRepository.findById(healthRecord.getPetId());
-            if (petData.isEmpty()) {
+            // 宠物主人只能为自己的宠物创建健康记录
+            HttpStatus failure = petAccessFailure(healthRecord.getPetId(), ownerScope());
+            if (failure == HttpStatus.NOT_FOUND) {
                 return new ResponseEntity<>(new MessageResponse("Error: Pet not found!"), HttpStatus.BAD_REQUEST);
             }
-            Pet pet = petData.get();
-
-            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-            UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
-
-            // 宠物主人只能为自己的宠物创建健康记录
-            if (authentication.getAuthorities().stream().anyMatch(a -> a.getAuthority().equals("ROLE_USER"))) {
-                if (!pet.getOwnerId().equals(userDetails.getId())) {
-                    return new ResponseEntity<>(HttpStatus.FORBIDDEN);
-                }
+            if (failure != null) {
+                return new ResponseEntity<>(failure);
+            }
+            if (!isValidVaccine(healthRecord)) {
+                return new ResponseEntity<>(new MessageResponse("Error: Invalid vaccine type!"), HttpStatus.BAD_REQUEST);
             }
 
-            HealthRecord _healthRecord = healthRecordRepository.save(new HealthRecord(
+            HealthRecord newRecord = new HealthRecord(
                     healthRecord.getPetId(),
                     healthRecord.getRecordDate(),
                     healthRecord.getRecordType(),
                     healthRecord.getDescription(),
                     healthRecord.getNotes(),
                     healthRecord.getAttachmentUrl()
-            ));
+            );
+            newRecord.setVaccineCode(healthRecord.getVaccineCode());
+            HealthRecord _healthRecord = healthRecordRepository.save(newRecord);
+            vaccinationReminderService.syncFor(_healthRecord);
+            healthRecordRepository.flush();
             return new ResponseEntity<>(_healthRecord, HttpStatus.CREATED);
         } catch (Exception e) {
+            TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
             return new ResponseEntity<>(null, HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
 
     // 更新健康记录
+    // 在事务内读取并修改托管实体，提交时只执行一条 UPDATE（不再有 merge 前的额外 SELECT）
     @PutMapping("/{id}")
     @PreAuthorize("hasRole('USER') or hasRole('MERCHANT_HOSPITAL') or hasRole('MERCHANT_HOUSE') or hasRole('MERCHANT_GOODS') or hasRole('ADMIN')")
-    public ResponseEntity<HealthRecord> updateHealthRecord(@PathVariable("id") Long id, @Valid @RequestBody HealthRecord healthRecord) {
-        Optional<HealthRecord> healthRecordData = healthRecordRepository.findById(id);
+    @Transactional
+    public ResponseEntity<?> updateHealthRecord(@PathVariable("id") Long id, @Valid @RequestBody HealthRecord healthRecord) {
+        // 宠物主人只能更新自己宠物的健康记录
+        Long ownerId = ownerScope();
+        Optional<HealthRecord> healthRecordData = healthRecordRepository.findAccessibleById(id, ownerId);
 
         if (healthRecordData.isPresent()) {
-            HealthRecord _healthRecord = healthRecordData.get();
-            Optional<Pet> petData = petRepository.findById(_healthRecord.getPetId());
-            if (petData.isEmpty()) {
-                return new ResponseEntity<>(HttpStatus.NOT_FOUND);
-            }
-            Pet pet = petData.get();
-
-            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-            UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
-
-            // 宠物主人只能更新自己宠物的健康记录
-            if (authentication.getAuthorities().stream().anyMatch(a -> a.getAuthority().equals("ROLE_USER"))) {
-                if (!pet.getOwnerId().equals(userDetails.getId())) {
-                    return new ResponseEntity<>(HttpStatus.FORBIDDEN);
-                }
+            if (!isValidVaccine(healthRecord)) {
+                return new ResponseEntity<>(new MessageResponse("Error: Invalid vaccine type!"), HttpStatus.BAD_REQUEST);
             }
-
+            HealthRecord _healthRecord = healthRecordData.get();
             _healthRecord.setRecordDate(healthRecord.getRecordDate());
             _healthRecord.setRecordType(healthRecord.getRecordType());
+            _healthRecord.setVaccineCode(healthRecord.getVaccineCode());
             _healthRecord.setDescription(healthRecord.getDescription());
             _healthRecord.setNotes(healthRecord.getNotes());
             _healthRecord.setAttachmentUrl(healthRecord.getAttachmentUrl());
-            return new ResponseEntity<>(healthRecordRepository.save(_healthRecord), HttpStatus.OK);
+            HealthRecord saved = healthRecordRepository.save(_healthRecord);
+            vaccinationReminderService.syncFor(saved);
+            return new ResponseEntity<>(saved, HttpStatus.OK);
         } else {
-            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+            return new ResponseEntity<>(recordAccessFailure(id, ownerId));
         }
     }
 
     // 删除健康记录
+    // 记录与对应提醒在同一事务中删除，不会留下已删除记录的提醒
     @DeleteMapping("/{id}")
     @PreAuthorize("hasRole('USER') or hasRole('MERCHANT_HOSPITAL') or hasRole('MERCHANT_HOUSE') or hasRole('MERCHANT_GOODS') or hasRole('ADMIN')")
+    @Transactional
     public ResponseEntity<HttpStatus> deleteHealthRecord(@PathVariable("id") Long id) {
         try {
-            Optional<HealthRecord> healthRecordData = healthRecordRepository.findById(id);
-            if (healthRecordData.isPresent()) {
-                HealthRecord healthRecord = healthRecordData.get();
-                Optional<Pet> petData = petRepository.findById(healthRecord.getPetId());
-                if (petData.isEmpty()) {
-                    return new ResponseEntity<>(HttpStatus.NOT_FOUND);
-                }
-                Pet pet = petData.get();
-
-                Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-                UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
-
-                // 宠物主人只能删除自己宠物的健康记录
-                if (authentication.getAuthorities().stream().anyMatch(a -> a.getAuthority().equals("ROLE_USER"))) {
-                    if (!pet.getOwnerId().equals(userDetails.getId())) {
-                        return new ResponseEntity<>(HttpStatus.FORBIDDEN);
-                    }
-                }
-                healthRecordRepository.deleteById(id);
+            // 宠物主人只能删除自己宠物的健康记录
+            Long ownerId = ownerScope();
+            if (healthRecordRepository.deleteAccessibleById(id, ownerId) > 0) {
+                vaccinationReminderService.removeFor(id);
+                healthRecordRepository.flush();
                 return new ResponseEntity<>(HttpStatus.NO_CONTENT);
             } else {
-                return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+                return new ResponseEntity<>(recordAccessFailure(id, ownerId));
             }
         } catch (Exception e) {
+            TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
             return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
-}
\ No newline at end of file
+
+    // 指定了疫苗类型时必须是有效的字典值
+    private boolean isValidVaccine(HealthRecord healthRecord) {
+        return healthRecord.getVaccineCode() == null
+                || vaccinationReminderService.isValidVaccine(healthRecord.getVaccineCode());
+    }
+
+    // 宠物主人（ROLE_USER）只能访问自己的宠物，返回其用户ID；商家和管理员不限，返回 null
+    private Long ownerScope() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication.getAuthorities().stream().anyMatch(a -> a.getAuthority().equals("ROLE_USER"))) {
+            return ((UserDetailsImpl) authentication.getPrincipal()).getId();
+        }
+        return null;
+    }
+
+    // 查询没有结果时区分原因（只在失败路径上多查一次）：可访问返回 null，宠物不存在 404，无权访问 403
+    private HttpStatus petAccessFailure(Long petId, Long ownerId) {
+        if (petRepository.existsAccessible(petId, ownerId)) {
+            return null;
+        }
+        return ownerId != null && petRepository.existsById(petId) ? HttpStatus.FORBIDDEN : HttpStatus.NOT_FOUND;
+    }
+
+    private HttpStatus recordAccessFailure(Long id, Long ownerId) {
+        HttpStatus failure = healthRecordRepository.findById(id)
+                .map(record -> petAccessFailure(record.getPetId(), ownerId))
+                .orElse(HttpStatus.NOT_FOUND);
+        return failure != null ? failure : HttpStatus.NOT_FOUND;
+    }
+}
@@ -1,18 +1,28 @@
 package com.petmanagement.petmanagementbackend.controllers;
 
 import com.petmanagement.petmanagementbackend.payload.request.AddPetRequest;
+import com.petmanagement.petmanagementbackend.payload.request.AddVitalRequest;
 import com.petmanagement.petmanagementbackend.payload.request.UpdatePetRequest;
 import com.petmanagement.petmanagementbackend.payload.response.MessageResponse;
+import com.petmanagement.petmanagementbackend.payload.response.PetHistoryResponse;
+import com.petmanagement.petmanagementbackend.payload.response.PetImportResponse;
 import com.petmanagement.petmanagementbackend.payload.response.PetResponse;
 import com.petmanagement.petmanagementbackend.security.services.UserDetailsImpl;
+import com.petmanagement.petmanagementbackend.service.PetImportService;
 import com.petmanagement.petmanagementbackend.service.PetService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -22,15 +32,19 @@ import java.util.List;
 public class PetController {
     
     private final PetService petService;
+    private final PetImportService petImportService;
     
     /**
      * 获取宠物列表
      * - 用户：获取自己的宠物
-     * - 商家：获取所有宠物（用于创建订单时选择）
+     * - 商家：获取所有宠物（用于创建订单时选择），传 size 时按宠物ID分页，下一页传上页最后一条的 afterId
      */
     @GetMapping
     @PreAuthorize("hasRole('USER') or hasRole('MERCHANT_HOSPITAL') or hasRole('MERCHANT_HOUSE') or hasRole('MERCHANT_GOODS') or hasRole('ADMIN')")
-    public ResponseEntity<List<PetResponse>> getMyPets(Authentication authentication) {
+    public ResponseEntity<List<PetResponse>> getMyPets(
+            @RequestParam(required = false) Long afterId,
+            @RequestParam(required = false) Integer size,
+            Authentication authentication) {
         Long userId = getCurrentUserId(authentication);
         
         boolean isMerchant = authentication.getAuthorities().stream().anyMatch(a -> 
@@ -41,8 +55,8 @@ public class PetController {
         
         List<PetResponse> pets;
         if (isMerchant) {
-            // 商家获取自己客户的所有宠物
-            pets = petService.getMerchantCustomerPets(userId);
+            // 商家获取自己客户的所有宠物（可选键集分页：afterId + size）
+            pets = petService.getMerchantCustomerPets(userId, afterId, size);
         } else {
             // 普通用户获取自己的宠物
             pets = petService.getMyPets(userId);
@@ -101,6 +115,95 @@ public class PetController {
         return ResponseEntity.ok(pet);
     }
     
+    /**
+     * 宠物历史版本（按版本倒序分页，下一页传上页最后一条的 beforeVersion）
+     */
+    @GetMapping("/{petId}/history")
+    @PreAuthorize("hasRole('USER') or hasRole('MERCHANT_HOSPITAL') or hasRole('MERCHANT_HOUSE') or hasRole('MERCHANT_GOODS') or hasRole('ADMIN')")
+    public ResponseEntity<List<PetHistoryResponse>> getPetHistory(
+            @PathVariable Long petId,
+            @RequestParam(required = false) Integer beforeVersion,
+            @RequestParam(defaultValue = "20") int size,
+            Authentication authentication) {
+        
+        Long userId = getCurrentUserId(authentication);
+        return ResponseEntity.ok(petService.getPetHistory(userId, petId, beforeVersion, size));
+    }
+    
+    /**
+     * 宠物在指定日期（当天结束时）的信息
+     */
+    @GetMapping("/{petId}/history/as-of")
+    @PreAuthorize("hasRole('USER') or hasRole('MERCHANT_HOSPITAL') or hasRole('MERCHANT_HOUSE') or hasRole('MERCHANT_GOODS') or hasRole('ADMIN')")
+    public ResponseEntity<PetHistoryResponse> getPetStateAsOf(
+            @PathVariable Long petId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            Authentication authentication) {
+        
+        Long userId = getCurrentUserId(authentication);
+        return ResponseEntity.ok(petService.getPetStateAsOf(userId, petId, date));
+    }
+    
+    /**
+     * 体征时间序列（如体重曲线），服务端按时间分桶返回最小/最大/平均值
+     * from/to 为空时默认最近一年，buckets 为返回点数上限（默认 100）
+     */
+    @GetMapping("/{petId}/vitals")
+    @PreAuthorize("hasRole('USER') or hasRole('MERCHANT_HOSPITAL') or hasRole('MERCHANT_HOUSE') or hasRole('MERCHANT_GOODS') or hasRole('ADMIN')")
+    public ResponseEntity<?> getPetVitals(
+            @PathVariable Long petId,
+            @RequestParam(defaultValue = "weight") String metric,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) Integer buckets,
+            Authentication authentication) {
+        
+        Long userId = getCurrentUserId(authentication);
+        try {
+            return ResponseEntity.ok(petService.getPetVitals(userId, petId, metric, from, to, buckets));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new MessageResponse(e.getMessage()));
+        }
+    }
+    
+    /**
+     * 录入一次体征测量
+     */
+    @PostMapping("/{petId}/vitals")
+    @PreAuthorize("hasRole('USER') or hasRole('MERCHANT_HOSPITAL') or hasRole('MERCHANT_HOUSE') or hasRole('MERCHANT_GOODS') or hasRole('ADMIN')")
+    public ResponseEntity<MessageResponse> addPetVital(
+            @PathVariable Long petId,
+            @Valid @RequestBody AddVitalRequest request,
+            Authentication authentication) {
+        
+        Long userId = getCurrentUserId(authentication);
+        petService.addPetVital(userId, petId, request);
+        return ResponseEntity.ok(new MessageResponse("记录成功"));
+    }
+    
+    /**
+     * 商家批量导入客户宠物
+     * 请求体为 CSV（text/csv，首行为表头，列名同添加接口字段）或 JSON Lines（application/x-ndjson，每行一个对象）
+     * 单行校验/插入失败不影响其他行，结果中返回失败行号和原因
+     */
+    @PostMapping(value = "/import", consumes = {"text/csv", "application/x-ndjson"})
+    @PreAuthorize("hasRole('MERCHANT_HOSPITAL') or hasRole('MERCHANT_HOUSE') or hasRole('MERCHANT_GOODS')")
+    public ResponseEntity<?> importPets(HttpServletRequest request, Authentication authentication) throws IOException {
+        PetImportService.Format format = request.getContentType().startsWith("text/csv")
+            ? PetImportService.Format.CSV
+            : PetImportService.Format.JSON_LINES;
+        if (request.getCharacterEncoding() == null) {
+            request.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        }
+        try {
+            PetImportResponse result = petImportService.importPets(
+                getCurrentUserId(authentication), request.getReader(), format);
+            return ResponseEntity.ok(result);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new MessageResponse(e.getMessage()));
+        }
+    }
+    
     /**
      * 更新宠物信息
      */
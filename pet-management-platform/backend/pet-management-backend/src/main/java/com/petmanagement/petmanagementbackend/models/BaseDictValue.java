@@ -12,7 +12,8 @@ import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "base_dict_value",
-       uniqueConstraints = @UniqueConstraint(columnNames = {"dict_code", "value_code"}))
+       uniqueConstraints = @UniqueConstraint(columnNames = {"dict_code", "value_code"}),
+       indexes = @Index(name = "idx_dict_parent", columnList = "dict_code, parent_value_code, status, value_order"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -35,6 +36,11 @@ public class BaseDictValue {
     @Column(name = "value_order")
     private Integer valueOrder = 0;
     
+    // 父级值编码：由 extra_data.species 生成的存储列，数据库自动维护，实体只读
+    @Column(name = "parent_value_code", length = 50, insertable = false, updatable = false,
+            columnDefinition = "VARCHAR(50) GENERATED ALWAYS AS (JSON_UNQUOTE(JSON_EXTRACT(extra_data, '$.species'))) STORED")
+    private String parentValueCode;
+    
     @Column(name = "extra_data", columnDefinition = "JSON")
     private String extraData;     
     @Column(name = "color_tag", length = 20)
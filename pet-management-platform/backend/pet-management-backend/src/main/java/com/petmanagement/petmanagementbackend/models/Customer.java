@@ -11,7 +11,8 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "customers")
+@Table(name = "customers",
+       indexes = @Index(name = "idx_customers_merchant", columnList = "merchant_id"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -8,7 +8,8 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "health_records")
+@Table(name = "health_records",
+       indexes = @Index(name = "idx_health_records_pet_date", columnList = "pet_id, record_date"))
 public class HealthRecord {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -19,12 +20,17 @@ public class HealthRecord {
     private Long petId; // Foreign key to Pet
 
     @NotNull
+    @Column(name = "record_date")
     private LocalDate recordDate;
 
     @NotBlank
     @Size(max = 100)
     private String recordType; // e.g., Vaccination, Checkup, Medication, Weight
 
+    @Size(max = 50)
+    @Column(name = "vaccine_code", length = 50)
+    private String vaccineCode; // 接种记录的疫苗类型（vaccine_type 字典），用于生成到期提醒
+
     @Column(columnDefinition = "TEXT")
     private String description;
 
@@ -96,6 +102,14 @@ public class HealthRecord {
         this.recordType = recordType;
     }
 
+    public String getVaccineCode() {
+        return vaccineCode;
+    }
+
+    public void setVaccineCode(String vaccineCode) {
+        this.vaccineCode = vaccineCode;
+    }
+
     public String getDescription() {
         return description;
     }
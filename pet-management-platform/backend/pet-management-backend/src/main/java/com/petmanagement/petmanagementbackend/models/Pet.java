@@ -13,7 +13,13 @@ import java.time.LocalDateTime;
  * 宠物实体类
  */
 @Entity
-@Table(name = "pets")
+@Table(name = "pets",
+       indexes = {
+           @Index(name = "idx_pets_customer", columnList = "customer_id, id"),
+           @Index(name = "idx_pets_owner", columnList = "owner_id, id"),
+           @Index(name = "idx_pets_species", columnList = "species_code, id"),
+           @Index(name = "idx_pets_breed", columnList = "breed_code, id")
+       })
 public class Pet {
     
     @Id
@@ -58,6 +64,10 @@ public class Pet {
     @Column(name = "birthday")
     private LocalDate birthday;
 
+    // 月龄，保存时计算，每天由 PetAgeRefreshJob 批量刷新
+    @Column(name = "age_in_months")
+    private Integer ageInMonths;
+
     @Column(name = "weight", precision = 5, scale = 2)
     private BigDecimal weight;
 
@@ -184,6 +194,14 @@ public class Pet {
         this.birthday = birthday;
     }
 
+    public Integer getAgeInMonths() {
+        return ageInMonths;
+    }
+
+    public void setAgeInMonths(Integer ageInMonths) {
+        this.ageInMonths = ageInMonths;
+    }
+
     public BigDecimal getWeight() {
         return weight;
     }
@@ -0,0 +1,55 @@
+package com.petmanagement.petmanagementbackend.models;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 宠物信息历史版本（只追加）
+ * 快照（S）保存全部跟踪字段，增量（D）只保存本次变化的字段；
+ * 每隔固定版本数写一次快照，还原某一时刻的状态最多回放一个间隔内的增量。
+ */
+@Entity
+@Table(name = "pet_history",
+       uniqueConstraints = @UniqueConstraint(name = "uk_pet_history_version", columnNames = {"pet_id", "version"}),
+       indexes = @Index(name = "idx_pet_history_snapshot", columnList = "pet_id, entry_type, version"))
+@Data
+@NoArgsConstructor
+public class PetHistory {
+
+    public static final String SNAPSHOT = "S";
+    public static final String DELTA = "D";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "pet_id", nullable = false)
+    private Long petId;
+
+    /**
+     * 每只宠物内从 1 递增
+     */
+    @Column(name = "version", nullable = false)
+    private Integer version;
+
+    @Column(name = "entry_type", nullable = false, length = 1)
+    private String entryType;
+
+    /**
+     * 字段名 -> 值 的 JSON，值为 null 表示该字段被清空
+     */
+    @Column(name = "changes", nullable = false, columnDefinition = "JSON")
+    private String changes;
+
+    /**
+     * 操作人（用户ID），商家代客户操作时为空
+     */
+    @Column(name = "changed_by")
+    private Long changedBy;
+
+    @Column(name = "changed_at", nullable = false)
+    private LocalDateTime changedAt;
+}
@@ -0,0 +1,46 @@
+package com.petmanagement.petmanagementbackend.models;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * 宠物体征时间序列（体重、体温等），每次测量一行
+ */
+@Entity
+@Table(name = "pet_vitals",
+       indexes = @Index(name = "idx_pet_vitals_series", columnList = "pet_id, metric, measured_at"))
+@Data
+@NoArgsConstructor
+public class PetVital {
+
+    public static final String WEIGHT = "weight";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "pet_id", nullable = false)
+    private Long petId;
+
+    /**
+     * 指标，如 weight（kg）、temperature（℃）、heart_rate（次/分）
+     */
+    @Column(name = "metric", nullable = false, length = 30)
+    private String metric;
+
+    @Column(name = "value", nullable = false, precision = 10, scale = 3)
+    private BigDecimal value;
+
+    @Column(name = "measured_at", nullable = false)
+    private LocalDateTime measuredAt;
+
+    /**
+     * 来源：PET（修改宠物信息时同步）、MANUAL（单独录入）、IMPORT（批量导入）
+     */
+    @Column(name = "source", length = 20)
+    private String source;
+}
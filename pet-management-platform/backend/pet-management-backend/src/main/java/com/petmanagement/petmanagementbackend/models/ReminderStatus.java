@@ -0,0 +1,9 @@
+package com.petmanagement.petmanagementbackend.models;
+
+public enum ReminderStatus {
+    PENDING,
+    PROCESSING,
+    SENT,
+    FAILED,
+    CANCELLED
+}
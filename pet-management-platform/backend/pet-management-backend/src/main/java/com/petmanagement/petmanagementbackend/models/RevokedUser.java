@@ -0,0 +1,32 @@
+package com.petmanagement.petmanagementbackend.models;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 已删除用户的令牌吊销记录
+ * 用户行删除后 token_version 随之消失，各节点改为从这里得知该用户的令牌全部失效；
+ * 超过访问令牌有效期后记录即可清理。
+ */
+@Entity
+@Table(name = "revoked_users",
+       indexes = @Index(name = "idx_revoked_users_at", columnList = "revoked_at"))
+@Data
+@NoArgsConstructor
+public class RevokedUser {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "revoked_at", nullable = false)
+    private LocalDateTime revokedAt;
+
+    public RevokedUser(Long userId, LocalDateTime revokedAt) {
+        this.userId = userId;
+        this.revokedAt = revokedAt;
+    }
+}
@@ -97,6 +97,13 @@ public class User {
    */
   @Column(name = "last_login_ip", length = 50)
   private String lastLoginIp;
+
+  /**
+   * 令牌版本（安全戳）
+   * 角色、状态、密码变更时递增，签发时写入 JWT，旧版本令牌随之失效
+   */
+  @Column(name = "token_version")
+  private Integer tokenVersion = 0;
   
   /**
    * 账号创建时间
@@ -248,6 +255,14 @@ public class User {
     this.lastLoginIp = lastLoginIp;
   }
 
+  public Integer getTokenVersion() {
+    return tokenVersion;
+  }
+
+  public void setTokenVersion(Integer tokenVersion) {
+    this.tokenVersion = tokenVersion;
+  }
+
   public LocalDateTime getCreatedAt() {
     return createdAt;
   }
@@ -265,6 +280,14 @@ public class User {
   }
   
   // ========== 业务方法 ==========
+
+  /**
+   * 递增令牌版本，使已签发的令牌失效
+   */
+  public int bumpTokenVersion() {
+    this.tokenVersion = (tokenVersion != null ? tokenVersion : 0) + 1;
+    return this.tokenVersion;
+  }
   
   /**
    * 判断是否是普通用户
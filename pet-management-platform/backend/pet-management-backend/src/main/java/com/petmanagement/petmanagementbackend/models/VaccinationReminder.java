@@ -0,0 +1,73 @@
+package com.petmanagement.petmanagementbackend.models;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * 疫苗到期提醒
+ * 由接种记录推算（接种日期 + 疫苗保护期），按 (status, remind_at) 索引分批扫描到期的提醒，不为每条提醒单独计时。
+ */
+@Entity
+@Table(name = "vaccination_reminders",
+       uniqueConstraints = @UniqueConstraint(name = "uk_reminder_record", columnNames = "health_record_id"),
+       indexes = {
+           @Index(name = "idx_reminder_due", columnList = "status, remind_at"),
+           @Index(name = "idx_reminder_pet_vaccine", columnList = "pet_id, vaccine_code")
+       })
+@Data
+@NoArgsConstructor
+public class VaccinationReminder {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * 来源接种记录（一条记录对应一条提醒）
+     */
+    @Column(name = "health_record_id", nullable = false)
+    private Long healthRecordId;
+
+    @Column(name = "pet_id", nullable = false)
+    private Long petId;
+
+    /**
+     * 疫苗类型（vaccine_type 字典）
+     */
+    @Column(name = "vaccine_code", nullable = false, length = 50)
+    private String vaccineCode;
+
+    /**
+     * 保护期到期日
+     */
+    @Column(name = "due_date", nullable = false)
+    private LocalDate dueDate;
+
+    /**
+     * 计划提醒时间（到期日前若干天）；发送失败时为重试时间，发送中（PROCESSING）为租约到期时间
+     */
+    @Column(name = "remind_at", nullable = false)
+    private LocalDateTime remindAt;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 20, nullable = false)
+    private ReminderStatus status = ReminderStatus.PENDING;
+
+    /**
+     * 发送失败次数
+     */
+    @Column(name = "attempts", nullable = false)
+    private Integer attempts = 0;
+
+    @Column(name = "sent_at")
+    private LocalDateTime sentAt;
+
+    @CreationTimestamp
+    @Column(name = "created_at", updatable = false)
+    private LocalDateTime createdAt;
+}
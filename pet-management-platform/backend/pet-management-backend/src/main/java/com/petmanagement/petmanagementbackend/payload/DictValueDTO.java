@@ -1,5 +1,6 @@
 package com.petmanagement.petmanagementbackend.payload;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.Data;
 import lombok.Builder;
 import lombok.NoArgsConstructor;
@@ -30,7 +31,10 @@ public class DictValueDTO {
     
     private String colorTag;
     
+    private String icon;
+    
     private Integer status;
     
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     private String operationReason; // 操作原因（用于版本记录）
 }
\ No newline at end of file
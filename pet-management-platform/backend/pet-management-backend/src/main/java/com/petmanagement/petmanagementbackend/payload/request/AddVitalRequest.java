@@ -0,0 +1,36 @@
+package com.petmanagement.petmanagementbackend.payload.request;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Positive;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * 录入体征数据请求 DTO
+ */
+@Data
+public class AddVitalRequest {
+    
+    /**
+     * 指标（weight、temperature、heart_rate 等）
+     */
+    @NotBlank(message = "指标不能为空")
+    @Pattern(regexp = "[a-z_]{1,30}", message = "指标格式不正确")
+    private String metric;
+    
+    /**
+     * 测量值
+     */
+    @NotNull(message = "测量值不能为空")
+    @Positive(message = "测量值必须大于0")
+    private BigDecimal value;
+    
+    /**
+     * 测量时间，为空时取当前时间
+     */
+    private LocalDateTime measuredAt;
+}
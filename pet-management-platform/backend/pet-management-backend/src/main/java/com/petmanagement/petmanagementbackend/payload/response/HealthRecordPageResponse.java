@@ -0,0 +1,30 @@
+package com.petmanagement.petmanagementbackend.payload.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * 健康记录分页结果（按记录日期倒序的键集分页）
+ */
+@Data
+@AllArgsConstructor
+public class HealthRecordPageResponse {
+    
+    /**
+     * 当前页数据
+     */
+    private List<HealthRecordSummary> items;
+    
+    /**
+     * 下一页游标：传给 beforeDate，没有下一页时为 null
+     */
+    private LocalDate nextBeforeDate;
+    
+    /**
+     * 下一页游标：传给 beforeId，没有下一页时为 null
+     */
+    private Long nextBeforeId;
+}
@@ -0,0 +1,44 @@
+package com.petmanagement.petmanagementbackend.payload.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * 健康记录摘要（列表使用），描述和备注只在请求时返回
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class HealthRecordSummary {
+    
+    private Long id;
+    
+    private Long petId;
+    
+    private LocalDate recordDate;
+    
+    private String recordType;
+    
+    /**
+     * 描述（includeText=true 时返回）
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String description;
+    
+    /**
+     * 备注（includeText=true 时返回）
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String notes;
+    
+    private String attachmentUrl;
+    
+    private LocalDateTime createdAt;
+    
+    private LocalDateTime updatedAt;
+}
@@ -9,6 +9,7 @@ public class JwtResponse {
 	private String username;
 	private String email;
 	private List<String> roles;
+	private String refreshToken;
 
 	public JwtResponse(String accessToken, Long id, String username, String email, List<String> roles) {
 		this.accessToken = accessToken;
@@ -18,6 +19,11 @@ public class JwtResponse {
 		this.roles = roles;
 	}
 
+	public JwtResponse(String accessToken, String refreshToken, Long id, String username, String email, List<String> roles) {
+		this(accessToken, id, username, email, roles);
+		this.refreshToken = refreshToken;
+	}
+
 	public String getAccessToken() {
 		return accessToken;
 	}
@@ -65,4 +71,12 @@ public class JwtResponse {
 	public void setRoles(List<String> roles) {
 		this.roles = roles;
 	}
+
+	public String getRefreshToken() {
+		return refreshToken;
+	}
+
+	public void setRefreshToken(String refreshToken) {
+		this.refreshToken = refreshToken;
+	}
 }
\ No newline at end of file
@@ -0,0 +1,42 @@
+package com.petmanagement.petmanagementbackend.payload.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * 宠物历史版本响应
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PetHistoryResponse {
+    
+    /**
+     * 版本号（还原状态时为回放到的最后一个版本）
+     */
+    private Integer version;
+    
+    /**
+     * SNAPSHOT：完整状态；DELTA：仅变化的字段；STATE：还原出的某一时刻状态
+     */
+    private String type;
+    
+    /**
+     * 字段名 -> 值
+     */
+    private Map<String, String> fields;
+    
+    /**
+     * 操作人ID
+     */
+    private Long changedBy;
+    
+    /**
+     * 变更时间
+     */
+    private LocalDateTime changedAt;
+}
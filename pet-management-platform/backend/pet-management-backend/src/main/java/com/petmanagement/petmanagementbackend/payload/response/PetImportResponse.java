@@ -0,0 +1,52 @@
+package com.petmanagement.petmanagementbackend.payload.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 宠物批量导入结果
+ */
+@Data
+@NoArgsConstructor
+public class PetImportResponse {
+    
+    /**
+     * 读取的数据行数（不含表头和空行）
+     */
+    private int total;
+    
+    /**
+     * 成功导入的行数
+     */
+    private int imported;
+    
+    /**
+     * 失败的行数
+     */
+    private int failed;
+    
+    /**
+     * 失败明细（最多返回前 1000 条）
+     */
+    private List<RowError> errors = new ArrayList<>();
+    
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RowError {
+        
+        /**
+         * 行号（从 1 开始，含表头）
+         */
+        private int line;
+        
+        /**
+         * 失败原因
+         */
+        private String message;
+    }
+}
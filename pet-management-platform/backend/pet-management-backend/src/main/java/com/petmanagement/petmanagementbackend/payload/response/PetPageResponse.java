@@ -0,0 +1,29 @@
+package com.petmanagement.petmanagementbackend.payload.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * 宠物分页结果（键集分页）
+ */
+@Data
+@AllArgsConstructor
+public class PetPageResponse {
+    
+    /**
+     * 当前页数据
+     */
+    private List<PetResponse> items;
+    
+    /**
+     * 下一页游标（传给 cursor 参数），没有下一页时为 null
+     */
+    private Long nextCursor;
+    
+    /**
+     * 符合条件的总数估算（非精确值），无法估算时为 null
+     */
+    private Long estimatedTotal;
+}
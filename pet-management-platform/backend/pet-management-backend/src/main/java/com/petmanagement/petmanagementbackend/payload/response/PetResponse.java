@@ -64,7 +64,7 @@ public class PetResponse {
     private LocalDate birthDate;
     
     /**
-     * 年龄（计算得出，单位：月）
+     * 年龄（单位：月，取自每日刷新的 age_in_months）
      */
     private Integer ageInMonths;
     
@@ -0,0 +1,65 @@
+package com.petmanagement.petmanagementbackend.payload.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 体征时间序列（服务端降采样）
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class VitalSeriesResponse {
+    
+    /**
+     * 指标
+     */
+    private String metric;
+    
+    /**
+     * 查询范围开始（含）
+     */
+    private LocalDateTime from;
+    
+    /**
+     * 查询范围结束（不含）
+     */
+    private LocalDateTime to;
+    
+    /**
+     * 每个桶的时长（秒）
+     */
+    private long bucketSeconds;
+    
+    /**
+     * 各桶聚合值，按时间升序，没有数据的桶不返回
+     */
+    private List<Point> points;
+    
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Point {
+        
+        /**
+         * 桶开始时间
+         */
+        private LocalDateTime time;
+        
+        private BigDecimal min;
+        
+        private BigDecimal max;
+        
+        private BigDecimal avg;
+        
+        /**
+         * 桶内测量次数
+         */
+        private long count;
+    }
+}
@@ -6,6 +6,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -14,15 +15,20 @@ public interface BaseDictValueRepository extends JpaRepository<BaseDictValue, Lo
     
     List<BaseDictValue> findByDictCodeAndStatus(String dictCode, Integer status);
     
+    List<BaseDictValue> findByStatus(Integer status);
+    
+    List<BaseDictValue> findByDictCodeInAndStatus(Collection<String> dictCodes, Integer status);
+    
     Optional<BaseDictValue> findByDictCodeAndValueCode(String dictCode, String valueCode);
     
-    boolean existsByDictCodeAndValueCode(String dictCode, String valueCode);
+    boolean existsByDictCodeAndValueCodeAndStatus(String dictCode, String valueCode, Integer status);
     
     // 根据父级字典值查询子级（用于级联，如根据宠物种类查询品种）
+    // parent_value_code 为 extra_data.species 的生成列，走 idx_dict_parent 索引（实体 BaseDictValue 映射，另见 V1_3 迁移）
     @Query(value = "SELECT v.* FROM base_dict_value v " +
                    "WHERE v.dict_code = :dictCode " +
+                   "AND v.parent_value_code = :speciesCode " +
                    "AND v.status = 1 " +
-                   "AND JSON_EXTRACT(v.extra_data, '$.species') = :speciesCode " +
                    "ORDER BY v.value_order", 
            nativeQuery = true)
     List<BaseDictValue> findByDictCodeAndSpecies(@Param("dictCode") String dictCode, 
@@ -16,4 +16,9 @@ public interface BaseDictVersionRepository extends JpaRepository<BaseDictVersion
         String dictCode, LocalDateTime startTime, LocalDateTime endTime);
     
     BaseDictVersion findTopByDictCodeOrderByVersionDesc(String dictCode);
+    
+    // 变更日志轮询：按 id 递增读取上次之后的新记录
+    List<BaseDictVersion> findTop500ByIdGreaterThanOrderByIdAsc(Long id);
+    
+    BaseDictVersion findTopByOrderByIdDesc();
 }
\ No newline at end of file
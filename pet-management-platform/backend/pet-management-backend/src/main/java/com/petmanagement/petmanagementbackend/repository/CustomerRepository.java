@@ -2,6 +2,8 @@ package com.petmanagement.petmanagementbackend.repository;
 
 import com.petmanagement.petmanagementbackend.models.Customer;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -13,6 +15,10 @@ public interface CustomerRepository extends JpaRepository<Customer, Long> {
     // 根据商家ID查询所有客户
     List<Customer> findByMerchantId(Long merchantId);
     
+    // 商家的全部客户ID（批量导入时校验归属）
+    @Query("SELECT c.id FROM Customer c WHERE c.merchantId = :merchantId")
+    List<Long> findIdsByMerchantId(@Param("merchantId") Long merchantId);
+    
     // 根据商家ID和手机号查询（防止重复）
     Optional<Customer> findByMerchantIdAndPhone(Long merchantId, String phone);
     
@@ -2,12 +2,35 @@ package com.petmanagement.petmanagementbackend.repository;
 
 import com.petmanagement.petmanagementbackend.models.HealthRecord;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface HealthRecordRepository extends JpaRepository<HealthRecord, Long> {
+public interface HealthRecordRepository extends JpaRepository<HealthRecord, Long>, HealthRecordRepositoryCustom {
     List<HealthRecord> findByPetId(Long petId);
-}
 
+    // 以下查询在同一条 SQL 中校验宠物归属：ownerId 为空表示不限主人（商家/管理员），只要求宠物存在
+
+    // 宠物的全部健康记录
+    @Query("SELECT h FROM HealthRecord h WHERE h.petId = :petId " +
+           "AND EXISTS (SELECT 1 FROM Pet p WHERE p.id = h.petId AND (:ownerId IS NULL OR p.ownerId = :ownerId))")
+    List<HealthRecord> findAccessibleByPetId(@Param("petId") Long petId, @Param("ownerId") Long ownerId);
+
+    // 单条健康记录
+    @Query("SELECT h FROM HealthRecord h WHERE h.id = :id " +
+           "AND EXISTS (SELECT 1 FROM Pet p WHERE p.id = h.petId AND (:ownerId IS NULL OR p.ownerId = :ownerId))")
+    Optional<HealthRecord> findAccessibleById(@Param("id") Long id, @Param("ownerId") Long ownerId);
+
+    // 删除单条健康记录，返回删除行数
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM HealthRecord h WHERE h.id = :id " +
+           "AND EXISTS (SELECT 1 FROM Pet p WHERE p.id = h.petId AND (:ownerId IS NULL OR p.ownerId = :ownerId))")
+    int deleteAccessibleById(@Param("id") Long id, @Param("ownerId") Long ownerId);
+}
@@ -0,0 +1,26 @@
+package com.petmanagement.petmanagementbackend.repository;
+
+import com.petmanagement.petmanagementbackend.payload.response.HealthRecordSummary;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * 健康记录动态条件查询
+ */
+public interface HealthRecordRepositoryCustom {
+    
+    /**
+     * 按条件查询宠物的一页健康记录，按 (记录日期, ID) 倒序，直接投影为摘要
+     * 宠物归属在同一查询中校验
+     * @param ownerId 宠物主人ID，为空表示不限主人
+     * @param from 记录日期下限（含），可为空
+     * @param to 记录日期上限（含），可为空
+     * @param recordType 记录类型，可为空
+     * @param beforeDate 游标：上一页最后一条的记录日期，首页为空
+     * @param beforeId 游标：上一页最后一条的ID，首页为空
+     * @param includeText 是否查询描述和备注（TEXT 列）
+     */
+    List<HealthRecordSummary> findSummaryPage(Long petId, Long ownerId, LocalDate from, LocalDate to, String recordType,
+                                              LocalDate beforeDate, Long beforeId, boolean includeText, int limit);
+}
@@ -0,0 +1,73 @@
+package com.petmanagement.petmanagementbackend.repository;
+
+import com.petmanagement.petmanagementbackend.models.HealthRecord;
+import com.petmanagement.petmanagementbackend.models.Pet;
+import com.petmanagement.petmanagementbackend.payload.response.HealthRecordSummary;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+public class HealthRecordRepositoryImpl implements HealthRecordRepositoryCustom {
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    @Override
+    public List<HealthRecordSummary> findSummaryPage(Long petId, Long ownerId, LocalDate from, LocalDate to, String recordType,
+                                                     LocalDate beforeDate, Long beforeId, boolean includeText,
+                                                     int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<HealthRecordSummary> query = cb.createQuery(HealthRecordSummary.class);
+        Root<HealthRecord> h = query.from(HealthRecord.class);
+        Expression<LocalDate> recordDate = h.get("recordDate");
+        
+        List<Predicate> predicates = new ArrayList<>();
+        predicates.add(cb.equal(h.get("petId"), petId));
+        
+        // 宠物存在且属于该主人
+        Subquery<Integer> pet = query.subquery(Integer.class);
+        Root<Pet> p = pet.from(Pet.class);
+        Predicate petMatches = cb.equal(p.get("id"), h.get("petId"));
+        if (ownerId != null) {
+            petMatches = cb.and(petMatches, cb.equal(p.get("ownerId"), ownerId));
+        }
+        pet.select(cb.literal(1)).where(petMatches);
+        predicates.add(cb.exists(pet));
+        if (from != null) {
+            predicates.add(cb.greaterThanOrEqualTo(recordDate, from));
+        }
+        if (to != null) {
+            predicates.add(cb.lessThanOrEqualTo(recordDate, to));
+        }
+        if (recordType != null) {
+            predicates.add(cb.equal(h.get("recordType"), recordType));
+        }
+        if (beforeDate != null && beforeId != null) {
+            // (record_date, id) < (beforeDate, beforeId)
+            predicates.add(cb.or(
+                cb.lessThan(recordDate, beforeDate),
+                cb.and(cb.equal(recordDate, beforeDate), cb.lessThan(h.get("id"), beforeId))));
+        }
+        
+        query.select(cb.construct(HealthRecordSummary.class,
+                h.get("id"), h.get("petId"), recordDate, h.get("recordType"),
+                includeText ? h.get("description") : cb.nullLiteral(String.class),
+                includeText ? h.get("notes") : cb.nullLiteral(String.class),
+                h.get("attachmentUrl"), h.get("createdAt"), h.get("updatedAt")))
+            .where(predicates.toArray(new Predicate[0]))
+            .orderBy(cb.desc(recordDate), cb.desc(h.get("id")));
+        
+        return entityManager.createQuery(query)
+            .setMaxResults(limit)
+            .getResultList();
+    }
+}
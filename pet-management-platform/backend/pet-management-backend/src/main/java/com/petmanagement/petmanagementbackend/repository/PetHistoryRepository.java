@@ -0,0 +1,36 @@
+package com.petmanagement.petmanagementbackend.repository;
+
+import com.petmanagement.petmanagementbackend.models.PetHistory;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface PetHistoryRepository extends JpaRepository<PetHistory, Long> {
+
+    // 最新版本
+    Optional<PetHistory> findTopByPetIdOrderByVersionDesc(Long petId);
+
+    // 指定时间点之前最近的一条快照
+    Optional<PetHistory> findTopByPetIdAndEntryTypeAndChangedAtLessThanEqualOrderByVersionDesc(
+        Long petId, String entryType, LocalDateTime at);
+
+    // 快照之后、时间点之前的记录（按版本顺序回放）
+    List<PetHistory> findByPetIdAndVersionGreaterThanAndChangedAtLessThanEqualOrderByVersionAsc(
+        Long petId, Integer version, LocalDateTime at);
+
+    // 历史列表（按版本倒序的键集分页）
+    List<PetHistory> findByPetIdAndVersionLessThanOrderByVersionDesc(Long petId, Integer beforeVersion, Pageable pageable);
+
+    // 宠物删除时清理全部历史
+    @Modifying
+    @Query("DELETE FROM PetHistory h WHERE h.petId = :petId")
+    int deleteByPetId(@Param("petId") Long petId);
+}
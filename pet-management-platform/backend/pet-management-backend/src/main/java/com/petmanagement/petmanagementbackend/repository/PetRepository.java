@@ -1,9 +1,18 @@
 package com.petmanagement.petmanagementbackend.repository;
 
 import com.petmanagement.petmanagementbackend.models.Pet;
+import com.petmanagement.petmanagementbackend.payload.response.PetResponse;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 
@@ -11,7 +20,15 @@ import java.util.Optional;
  * 宠物数据访问层
  */
 @Repository
-public interface PetRepository extends JpaRepository<Pet, Long> {
+public interface PetRepository extends JpaRepository<Pet, Long>, PetRepositoryCustom {
+    
+    /**
+     * 投影为 PetResponse 的查询字段（与 PetResponse 全参构造器顺序一致）
+     */
+    String PET_RESPONSE_SELECT = "SELECT new com.petmanagement.petmanagementbackend.payload.response.PetResponse(" +
+           "p.id, p.name, p.speciesCode, p.speciesName, p.breedCode, p.breedName, " +
+           "p.genderCode, p.genderName, p.birthday, p.ageInMonths, p.weight, p.color, p.description, " +
+           "p.avatarUrl, p.createdAt, p.updatedAt) ";
     
     /**
      * 根据主人ID查询宠物列表
@@ -28,6 +45,20 @@ public interface PetRepository extends JpaRepository<Pet, Long> {
      */
     Optional<Pet> findByIdAndOwnerId(Long id, Long ownerId);
     
+    /**
+     * 加写锁读取宠物（SELECT ... FOR UPDATE），用于写历史的更新操作，
+     * 同一宠物的并发更新依次执行，历史版本号不会冲突
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM Pet p WHERE p.id = :id AND p.ownerId = :ownerId")
+    Optional<Pet> findForUpdateByIdAndOwnerId(@Param("id") Long id, @Param("ownerId") Long ownerId);
+    
+    /**
+     * 宠物存在且（ownerId 不为空时）属于该主人
+     */
+    @Query("SELECT COUNT(p) > 0 FROM Pet p WHERE p.id = :id AND (:ownerId IS NULL OR p.ownerId = :ownerId)")
+    boolean existsAccessible(@Param("id") Long id, @Param("ownerId") Long ownerId);
+    
     /**
      * 统计用户的宠物数量
      * @param ownerId 主人ID
@@ -37,7 +68,50 @@ public interface PetRepository extends JpaRepository<Pet, Long> {
 
     // 根据客户ID查询
     List<Pet> findByCustomerId(Long customerId);
+    
+    /**
+     * 用户自己的宠物，直接投影为 PetResponse（不加载实体）
+     */
+    @Query(PET_RESPONSE_SELECT + "FROM Pet p WHERE p.ownerId = :ownerId ORDER BY p.id")
+    List<PetResponse> findResponsesByOwnerId(@Param("ownerId") Long ownerId);
+    
+    /**
+     * 客户的宠物，直接投影为 PetResponse（不加载实体）
+     */
+    @Query(PET_RESPONSE_SELECT + "FROM Pet p WHERE p.customerId = :customerId ORDER BY p.id")
+    List<PetResponse> findResponsesByCustomerId(@Param("customerId") Long customerId);
+    
+    /**
+     * 属于该用户的单个宠物，直接投影为 PetResponse
+     */
+    @Query(PET_RESPONSE_SELECT + "FROM Pet p WHERE p.id = :id AND p.ownerId = :ownerId")
+    Optional<PetResponse> findResponseByIdAndOwnerId(@Param("id") Long id, @Param("ownerId") Long ownerId);
+    
+    /**
+     * 按指定日期重算月龄，只更新值有变化的行（不改 updated_at）
+     * 口径与 Period.between 一致：未满一个月不进位
+     * @return 更新的行数
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE pets SET age_in_months = TIMESTAMPDIFF(MONTH, birthday, :today) " +
+                   "WHERE birthday IS NOT NULL " +
+                   "AND NOT (age_in_months <=> TIMESTAMPDIFF(MONTH, birthday, :today))",
+           nativeQuery = true)
+    int refreshAgeInMonths(@Param("today") LocalDate today);
 
     //  根据客户ID和宠物ID查询
     Optional<Pet> findByIdAndCustomerId(Long id, Long customerId);
+    
+    /**
+     * 商家所有客户的宠物（一次查询，直接投影为 PetResponse）
+     * 按宠物ID升序，afterId 为上一页最后一条的ID（键集分页），不分页时传 0 和 Pageable.unpaged()
+     */
+    @Query(PET_RESPONSE_SELECT +
+           "FROM Pet p JOIN Customer c ON c.id = p.customerId " +
+           "WHERE c.merchantId = :merchantId AND p.id > :afterId " +
+           "ORDER BY p.id")
+    List<PetResponse> findMerchantCustomerPets(@Param("merchantId") Long merchantId,
+                                               @Param("afterId") Long afterId,
+                                               Pageable pageable);
 }
\ No newline at end of file
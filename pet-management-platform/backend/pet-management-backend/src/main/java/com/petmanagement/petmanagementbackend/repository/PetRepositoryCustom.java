@@ -0,0 +1,25 @@
+package com.petmanagement.petmanagementbackend.repository;
+
+import com.petmanagement.petmanagementbackend.payload.response.PetResponse;
+
+import java.util.List;
+
+/**
+ * 宠物动态条件查询（管理端列表）
+ */
+public interface PetRepositoryCustom {
+    
+    /**
+     * 按条件查询一页宠物，按ID倒序（新的在前），直接投影为 PetResponse，不含描述
+     * 只拼接有值的条件，便于走对应索引
+     * @param beforeId 键集分页游标：上一页最后一条的ID，首页为空
+     * @param limit 条数
+     */
+    List<PetResponse> findPetPage(String speciesCode, String breedCode, Long ownerId, Long customerId,
+                                  Long beforeId, int limit);
+    
+    /**
+     * 符合条件的记录数估算（来自 MySQL 统计信息/执行计划，不做 COUNT(*)），无法估算时返回 null
+     */
+    Long estimatePetCount(String speciesCode, String breedCode, Long ownerId, Long customerId);
+}
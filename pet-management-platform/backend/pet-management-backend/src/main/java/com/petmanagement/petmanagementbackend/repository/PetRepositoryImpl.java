@@ -0,0 +1,108 @@
+package com.petmanagement.petmanagementbackend.repository;
+
+import com.petmanagement.petmanagementbackend.models.Pet;
+import com.petmanagement.petmanagementbackend.payload.response.PetResponse;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+@Slf4j
+public class PetRepositoryImpl implements PetRepositoryCustom {
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    private final JdbcTemplate jdbcTemplate;
+    
+    public PetRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+    
+    @Override
+    public List<PetResponse> findPetPage(String speciesCode, String breedCode, Long ownerId, Long customerId,
+                                         Long beforeId, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<PetResponse> query = cb.createQuery(PetResponse.class);
+        Root<Pet> p = query.from(Pet.class);
+        
+        List<Predicate> predicates = new ArrayList<>();
+        if (speciesCode != null) {
+            predicates.add(cb.equal(p.get("speciesCode"), speciesCode));
+        }
+        if (breedCode != null) {
+            predicates.add(cb.equal(p.get("breedCode"), breedCode));
+        }
+        if (ownerId != null) {
+            predicates.add(cb.equal(p.get("ownerId"), ownerId));
+        }
+        if (customerId != null) {
+            predicates.add(cb.equal(p.get("customerId"), customerId));
+        }
+        if (beforeId != null) {
+            predicates.add(cb.lessThan(p.get("id"), beforeId));
+        }
+        
+        query.select(cb.construct(PetResponse.class,
+                p.get("id"), p.get("name"), p.get("speciesCode"), p.get("speciesName"),
+                p.get("breedCode"), p.get("breedName"), p.get("genderCode"), p.get("genderName"),
+                p.get("birthday"), p.get("ageInMonths"), p.get("weight"), p.get("color"), cb.nullLiteral(String.class),
+                p.get("avatarUrl"), p.get("createdAt"), p.get("updatedAt")))
+            .where(predicates.toArray(new Predicate[0]))
+            .orderBy(cb.desc(p.get("id")));
+        
+        return entityManager.createQuery(query)
+            .setMaxResults(limit)
+            .getResultList();
+    }
+    
+    @Override
+    public Long estimatePetCount(String speciesCode, String breedCode, Long ownerId, Long customerId) {
+        try {
+            List<Object> args = new ArrayList<>();
+            StringBuilder where = new StringBuilder();
+            appendCondition(where, args, "species_code", speciesCode);
+            appendCondition(where, args, "breed_code", breedCode);
+            appendCondition(where, args, "owner_id", ownerId);
+            appendCondition(where, args, "customer_id", customerId);
+            
+            if (args.isEmpty()) {
+                // 无条件：取表统计信息中的行数
+                return jdbcTemplate.queryForObject(
+                    "SELECT TABLE_ROWS FROM information_schema.TABLES " +
+                    "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'pets'", Long.class);
+            }
+            
+            // 有条件：取执行计划中的预估行数
+            List<Map<String, Object>> plan = jdbcTemplate.queryForList(
+                "EXPLAIN SELECT id FROM pets WHERE " + where, args.toArray());
+            if (plan.isEmpty() || plan.get(0).get("rows") == null) {
+                return null;
+            }
+            return ((Number) plan.get(0).get("rows")).longValue();
+        } catch (Exception e) {
+            log.warn("宠物数量估算失败: {}", e.getMessage());
+            return null;
+        }
+    }
+    
+    // 列名为固定常量，值走参数绑定
+    private static void appendCondition(StringBuilder where, List<Object> args, String column, Object value) {
+        if (value == null) {
+            return;
+        }
+        if (!args.isEmpty()) {
+            where.append(" AND ");
+        }
+        where.append(column).append(" = ?");
+        args.add(value);
+    }
+}
@@ -0,0 +1,47 @@
+package com.petmanagement.petmanagementbackend.repository;
+
+import com.petmanagement.petmanagementbackend.models.PetVital;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface PetVitalRepository extends JpaRepository<PetVital, Long> {
+
+    /**
+     * 按固定时长分桶聚合（数据库内完成），空桶不返回
+     * bucket 为相对 from 的桶序号
+     */
+    @Query(value = "SELECT FLOOR(TIMESTAMPDIFF(SECOND, :from, v.measured_at) / :bucketSeconds) AS bucket, " +
+                   "MIN(v.value) AS minValue, MAX(v.value) AS maxValue, AVG(v.value) AS avgValue, " +
+                   "COUNT(*) AS samples " +
+                   "FROM pet_vitals v " +
+                   "WHERE v.pet_id = :petId AND v.metric = :metric " +
+                   "AND v.measured_at >= :from AND v.measured_at < :to " +
+                   "GROUP BY bucket ORDER BY bucket",
+           nativeQuery = true)
+    List<VitalBucket> aggregate(@Param("petId") Long petId,
+                                @Param("metric") String metric,
+                                @Param("from") LocalDateTime from,
+                                @Param("to") LocalDateTime to,
+                                @Param("bucketSeconds") long bucketSeconds);
+
+    // 宠物删除时清理全部测量记录
+    @Modifying
+    @Query("DELETE FROM PetVital v WHERE v.petId = :petId")
+    int deleteByPetId(@Param("petId") Long petId);
+
+    interface VitalBucket {
+        Number getBucket();
+        BigDecimal getMinValue();
+        BigDecimal getMaxValue();
+        BigDecimal getAvgValue();
+        Number getSamples();
+    }
+}
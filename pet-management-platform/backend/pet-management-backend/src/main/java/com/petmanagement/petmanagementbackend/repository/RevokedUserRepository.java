@@ -0,0 +1,26 @@
+package com.petmanagement.petmanagementbackend.repository;
+
+import com.petmanagement.petmanagementbackend.models.RevokedUser;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface RevokedUserRepository extends JpaRepository<RevokedUser, Long> {
+
+    // 全部已吊销的用户ID，用于刷新令牌吊销表
+    @Query("SELECT r.userId FROM RevokedUser r")
+    List<Long> findAllUserIds();
+
+    // 清理早于指定时间的记录（这些用户签发的令牌均已过期）
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM RevokedUser r WHERE r.revokedAt < :before")
+    int deleteRevokedBefore(@Param("before") LocalDateTime before);
+}
@@ -3,6 +3,7 @@ package com.petmanagement.petmanagementbackend.repository;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import com.petmanagement.petmanagementbackend.models.User;
@@ -51,4 +52,10 @@ public interface UserRepository extends JpaRepository<User, Long> {
      * 根据用户类型和状态查询
      */
     java.util.List<User> findByUserTypeAndStatus(UserType userType, Integer status);
+
+    /**
+     * 查询令牌版本大于0的用户（id, tokenVersion），用于刷新令牌吊销表
+     */
+    @Query("SELECT u.id, u.tokenVersion FROM User u WHERE u.tokenVersion > 0")
+    java.util.List<Object[]> findTokenVersions();
 }
\ No newline at end of file
@@ -0,0 +1,91 @@
+package com.petmanagement.petmanagementbackend.repository;
+
+import com.petmanagement.petmanagementbackend.models.ReminderStatus;
+import com.petmanagement.petmanagementbackend.models.VaccinationReminder;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface VaccinationReminderRepository extends JpaRepository<VaccinationReminder, Long> {
+
+    Optional<VaccinationReminder> findByHealthRecordId(Long healthRecordId);
+
+    // 到期待发送的提醒，以及租约已过期的发送中提醒（走 idx_reminder_due 索引，按计划时间分批读取）
+    @Query("SELECT r FROM VaccinationReminder r WHERE r.status IN :statuses AND r.remindAt <= :now " +
+           "ORDER BY r.remindAt, r.id")
+    List<VaccinationReminder> findDue(@Param("statuses") Collection<ReminderStatus> statuses,
+                                      @Param("now") LocalDateTime now,
+                                      Pageable pageable);
+
+    // 认领一条到期提醒并改为发送中，remindAt 记为租约到期时间（多节点同时扫描时只有一个能成功）
+    // 重新认领租约已过期的发送中提醒时 attemptDelta 传 1，上次发送视为一次失败
+    @Modifying
+    @Transactional
+    @Query("UPDATE VaccinationReminder r SET r.status = :processing, r.remindAt = :leaseUntil, " +
+           "r.attempts = r.attempts + :attemptDelta " +
+           "WHERE r.id = :id AND r.status = :expected AND r.remindAt <= :now")
+    int claim(@Param("id") Long id, @Param("now") LocalDateTime now, @Param("leaseUntil") LocalDateTime leaseUntil,
+              @Param("expected") ReminderStatus expected, @Param("processing") ReminderStatus processing,
+              @Param("attemptDelta") int attemptDelta);
+
+    // 租约过期且已达重试上限的发送中提醒直接标记为失败，不再发送
+    @Modifying
+    @Transactional
+    @Query("UPDATE VaccinationReminder r SET r.status = :failed, r.attempts = r.attempts + 1 " +
+           "WHERE r.id = :id AND r.status = :processing AND r.remindAt <= :now")
+    int abandon(@Param("id") Long id, @Param("now") LocalDateTime now,
+                @Param("processing") ReminderStatus processing, @Param("failed") ReminderStatus failed);
+
+    // 发送成功：仅当租约仍属于本次认领时标记为已发送
+    @Modifying
+    @Transactional
+    @Query("UPDATE VaccinationReminder r SET r.status = :sent, r.sentAt = :now " +
+           "WHERE r.id = :id AND r.status = :processing AND r.remindAt = :leaseUntil")
+    int complete(@Param("id") Long id, @Param("leaseUntil") LocalDateTime leaseUntil, @Param("now") LocalDateTime now,
+                 @Param("processing") ReminderStatus processing, @Param("sent") ReminderStatus sent);
+
+    // 发送失败：记录失败次数并改为稍后重试（或标记为失败），同样只处理本次认领的租约
+    @Modifying
+    @Transactional
+    @Query("UPDATE VaccinationReminder r SET r.status = :status, r.attempts = r.attempts + 1, " +
+           "r.remindAt = :retryAt WHERE r.id = :id AND r.status = :processing AND r.remindAt = :leaseUntil")
+    int release(@Param("id") Long id, @Param("leaseUntil") LocalDateTime leaseUntil,
+                @Param("status") ReminderStatus status, @Param("retryAt") LocalDateTime retryAt,
+                @Param("processing") ReminderStatus processing);
+
+    // 同一宠物同一疫苗是否已有更晚到期的提醒（不含指定接种记录自身）
+    @Query("SELECT COUNT(r) > 0 FROM VaccinationReminder r WHERE r.petId = :petId AND r.vaccineCode = :vaccineCode " +
+           "AND r.dueDate > :dueDate AND r.healthRecordId <> :healthRecordId")
+    boolean existsLaterDue(@Param("petId") Long petId, @Param("vaccineCode") String vaccineCode,
+                           @Param("dueDate") LocalDate dueDate, @Param("healthRecordId") Long healthRecordId);
+
+    // 同一宠物同一疫苗有了新的接种记录后，取消更早到期的待发送提醒
+    @Modifying
+    @Transactional
+    @Query("UPDATE VaccinationReminder r SET r.status = :cancelled " +
+           "WHERE r.petId = :petId AND r.vaccineCode = :vaccineCode AND r.dueDate < :dueDate AND r.status = :pending")
+    int cancelSuperseded(@Param("petId") Long petId, @Param("vaccineCode") String vaccineCode,
+                         @Param("dueDate") LocalDate dueDate,
+                         @Param("pending") ReminderStatus pending, @Param("cancelled") ReminderStatus cancelled);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM VaccinationReminder r WHERE r.healthRecordId = :healthRecordId")
+    int deleteByHealthRecordId(@Param("healthRecordId") Long healthRecordId);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM VaccinationReminder r WHERE r.petId = :petId")
+    int deleteByPetId(@Param("petId") Long petId);
+}
@@ -4,6 +4,7 @@ import com.petmanagement.petmanagementbackend.security.jwt.AuthEntryPointJwt;
 import com.petmanagement.petmanagementbackend.security.jwt.AuthTokenFilter;
 import com.petmanagement.petmanagementbackend.security.services.UserDetailsServiceImpl;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -13,13 +14,16 @@ import org.springframework.security.config.annotation.authentication.configurati
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.factory.PasswordEncoderFactories;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
 
 import java.util.List;
+import java.util.Map;
 
 @Configuration
 @EnableMethodSecurity
@@ -31,6 +35,10 @@ public class WebSecurityConfig {
   @Autowired
   private AuthEntryPointJwt unauthorizedHandler;
 
+  // BCrypt 成本因子，调整后用户下次登录时自动按新成本重新哈希
+  @Value("${app.security.bcrypt-strength:10}")
+  private int bcryptStrength;
+
   @Bean
   public AuthTokenFilter authenticationJwtTokenFilter() {
     return new AuthTokenFilter();
@@ -38,7 +46,11 @@ public class WebSecurityConfig {
 
   @Bean
   public PasswordEncoder passwordEncoder() {
-    return PasswordEncoderFactories.createDelegatingPasswordEncoder();
+    // 新密码按配置的成本写入 {bcrypt}；其它前缀（{noop}、{pbkdf2} 等）仍交给默认实现校验
+    DelegatingPasswordEncoder encoder = new DelegatingPasswordEncoder("bcrypt",
+        Map.of("bcrypt", new StrengthMatchingBCryptPasswordEncoder(bcryptStrength)));
+    encoder.setDefaultPasswordEncoderForMatches(PasswordEncoderFactories.createDelegatingPasswordEncoder());
+    return encoder;
   }
 
   @Bean
@@ -46,6 +58,7 @@ public class WebSecurityConfig {
     DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
     authProvider.setUserDetailsService(userDetailsService);
     authProvider.setPasswordEncoder(passwordEncoder());
+    authProvider.setUserDetailsPasswordService(userDetailsService);
     return authProvider;
   }
 
@@ -78,4 +91,31 @@ public class WebSecurityConfig {
     http.addFilterBefore(authenticationJwtTokenFilter(), UsernamePasswordAuthenticationFilter.class);
     return http.build();
   }
-}
\ No newline at end of file
+
+  /**
+   * 存储的成本与配置不一致（调高或调低）时都重新哈希；
+   * BCryptPasswordEncoder 默认只在存储成本低于配置时才要求升级
+   */
+  static final class StrengthMatchingBCryptPasswordEncoder extends BCryptPasswordEncoder {
+    private final int strength;
+
+    StrengthMatchingBCryptPasswordEncoder(int strength) {
+      super(strength);
+      this.strength = strength;
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+      // $2a$10$... 中第 4、5 位为成本
+      if (encodedPassword != null && encodedPassword.length() > 7
+          && encodedPassword.charAt(3) == '$' && encodedPassword.charAt(6) == '$') {
+        try {
+          return Integer.parseInt(encodedPassword.substring(4, 6)) != strength;
+        } catch (NumberFormatException e) {
+          // 格式不符，交给默认实现处理
+        }
+      }
+      return super.upgradeEncoding(encodedPassword);
+    }
+  }
+}
@@ -17,8 +17,12 @@ import org.springframework.security.web.authentication.WebAuthenticationDetailsS
 import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
+import com.petmanagement.petmanagementbackend.security.services.UserDetailsCache;
+import com.petmanagement.petmanagementbackend.security.services.UserDetailsImpl;
 import com.petmanagement.petmanagementbackend.security.services.UserDetailsServiceImpl;
 
+import io.jsonwebtoken.Claims;
+
 public class AuthTokenFilter extends OncePerRequestFilter {
   @Autowired
   private JwtUtils jwtUtils;
@@ -26,6 +30,12 @@ public class AuthTokenFilter extends OncePerRequestFilter {
   @Autowired
   private UserDetailsServiceImpl userDetailsService;
 
+  @Autowired
+  private UserDetailsCache userDetailsCache;
+
+  @Autowired
+  private TokenRevocationRegistry revocationRegistry;
+
   private static final Logger logger = LoggerFactory.getLogger(AuthTokenFilter.class);
 
   @Override
@@ -33,17 +43,18 @@ public class AuthTokenFilter extends OncePerRequestFilter {
       throws ServletException, IOException {
     try {
       String jwt = parseJwt(request);
-      if (jwt != null && jwtUtils.validateJwtToken(jwt)) {
-        String username = jwtUtils.getUserNameFromJwtToken(jwt);
-
-        UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-        UsernamePasswordAuthenticationToken authentication = 
-            new UsernamePasswordAuthenticationToken(userDetails,
-                                                    null,
-                                                    userDetails.getAuthorities());
-        authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+      Claims claims = jwt != null ? jwtUtils.parseJwtToken(jwt) : null;
+      if (claims != null) {
+        UserDetails userDetails = loadUserDetails(claims);
+        if (userDetails != null) {
+          UsernamePasswordAuthenticationToken authentication = 
+              new UsernamePasswordAuthenticationToken(userDetails,
+                                                      null,
+                                                      userDetails.getAuthorities());
+          authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
 
-        SecurityContextHolder.getContext().setAuthentication(authentication);
+          SecurityContextHolder.getContext().setAuthentication(authentication);
+        }
       }
     } catch (Exception e) {
       logger.error("Cannot set user authentication: {}", e);
@@ -52,6 +63,27 @@ public class AuthTokenFilter extends OncePerRequestFilter {
     filterChain.doFilter(request, response);
   }
 
+  /**
+   * 自包含模式下直接由 claims 构建用户信息，只做吊销检查；
+   * 否则（或旧令牌不含 claims）走缓存 + 数据库加载
+   */
+  private UserDetails loadUserDetails(Claims claims) {
+    if (jwtUtils.isSelfContained()) {
+      UserDetailsImpl principal = jwtUtils.getUserDetailsFromClaims(claims);
+      if (principal != null) {
+        if (revocationRegistry.isRevoked(principal.getId(), principal.getTokenVersion())) {
+          logger.warn("JWT token has been revoked for user: {}", principal.getUsername());
+          return null;
+        }
+        return principal;
+      }
+    }
+
+    String username = claims.getSubject();
+    return userDetailsCache.get(username,
+        name -> (UserDetailsImpl) userDetailsService.loadUserByUsername(name));
+  }
+
   private String parseJwt(HttpServletRequest request) {
     String headerAuth = request.getHeader("Authorization");
 
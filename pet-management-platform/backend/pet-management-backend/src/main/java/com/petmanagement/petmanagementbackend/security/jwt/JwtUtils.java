@@ -1,12 +1,20 @@
 package com.petmanagement.petmanagementbackend.security.jwt;
 
 import java.security.Key;
+import java.util.Collection;
 import java.util.Date;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import jakarta.annotation.PostConstruct;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.stereotype.Component;
 
 import com.petmanagement.petmanagementbackend.security.services.UserDetailsImpl;
@@ -19,37 +27,107 @@ import io.jsonwebtoken.security.Keys;
 public class JwtUtils {
   private static final Logger logger = LoggerFactory.getLogger(JwtUtils.class);
 
+  private static final String CLAIM_USER_ID = "uid";
+  private static final String CLAIM_EMAIL = "email";
+  private static final String CLAIM_ROLES = "roles";
+  private static final String CLAIM_TOKEN_VERSION = "ver";
+
   @Value("${app.jwt.secret}")
   private String jwtSecret;
 
   @Value("${app.jwt.expiration}")
   private int jwtExpirationMs;
 
-  public String generateJwtToken(Authentication authentication) {
+  // 自包含模式：用户ID、角色、令牌版本写入 claims，认证时无需查库
+  @Value("${app.jwt.self-contained:false}")
+  private boolean selfContained;
 
-    UserDetailsImpl userPrincipal = (UserDetailsImpl) authentication.getPrincipal();
+  // 签名密钥与解析器只构建一次，线程安全，所有请求复用
+  private Key signingKey;
 
-    return Jwts.builder()
+  private JwtParser jwtParser;
+
+  @Autowired
+  private VerifiedTokenCache verifiedTokenCache;
+
+  @PostConstruct
+  public void init() {
+    signingKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtSecret));
+    jwtParser = Jwts.parserBuilder().setSigningKey(signingKey).build();
+  }
+
+  public String generateJwtToken(Authentication authentication) {
+    return generateJwtToken((UserDetailsImpl) authentication.getPrincipal());
+  }
+
+  public String generateJwtToken(UserDetailsImpl userPrincipal) {
+    JwtBuilder builder = Jwts.builder()
         .setSubject((userPrincipal.getUsername()))
         .setIssuedAt(new Date())
-        .setExpiration(new Date((new Date()).getTime() + jwtExpirationMs))
-        .signWith(key(), SignatureAlgorithm.HS256)
-        .compact();
+        .setExpiration(new Date((new Date()).getTime() + jwtExpirationMs));
+
+    if (selfContained) {
+      builder.claim(CLAIM_USER_ID, userPrincipal.getId())
+          .claim(CLAIM_EMAIL, userPrincipal.getEmail())
+          .claim(CLAIM_ROLES, userPrincipal.getAuthorities().stream()
+              .map(GrantedAuthority::getAuthority)
+              .collect(Collectors.toList()))
+          .claim(CLAIM_TOKEN_VERSION, userPrincipal.getTokenVersion());
+    }
+
+    return builder.signWith(signingKey, SignatureAlgorithm.HS256).compact();
   }
 
-  private Key key() {
-    return Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtSecret));
+  public boolean isSelfContained() {
+    return selfContained;
+  }
+
+  /**
+   * 从自包含令牌的 claims 构建用户信息；令牌不含用户ID（旧令牌）时返回 null
+   */
+  public UserDetailsImpl getUserDetailsFromClaims(Claims claims) {
+    Number userId = claims.get(CLAIM_USER_ID, Number.class);
+    if (userId == null) {
+      return null;
+    }
+
+    Collection<GrantedAuthority> authorities = ((List<?>) claims.getOrDefault(CLAIM_ROLES, List.of()))
+        .stream()
+        .map(role -> new SimpleGrantedAuthority(role.toString()))
+        .collect(Collectors.toList());
+    Number tokenVersion = claims.get(CLAIM_TOKEN_VERSION, Number.class);
+
+    return new UserDetailsImpl(
+        userId.longValue(),
+        claims.getSubject(),
+        claims.get(CLAIM_EMAIL, String.class),
+        null,
+        authorities,
+        tokenVersion != null ? tokenVersion.intValue() : 0);
   }
 
   public String getUserNameFromJwtToken(String token) {
-    return Jwts.parserBuilder().setSigningKey(key()).build()
-               .parseClaimsJws(token).getBody().getSubject();
+    return jwtParser.parseClaimsJws(token).getBody().getSubject();
   }
 
   public boolean validateJwtToken(String authToken) {
+    return parseJwtToken(authToken) != null;
+  }
+
+  /**
+   * 一次完成验签、过期校验并返回 claims，无效令牌返回 null
+   * 同一令牌已验签过时直接返回缓存的 claims
+   */
+  public Claims parseJwtToken(String authToken) {
+    Claims cached = verifiedTokenCache.get(authToken);
+    if (cached != null) {
+      return cached;
+    }
+
     try {
-      Jwts.parserBuilder().setSigningKey(key()).build().parse(authToken);
-      return true;
+      Claims claims = jwtParser.parseClaimsJws(authToken).getBody();
+      verifiedTokenCache.put(authToken, claims);
+      return claims;
     } catch (MalformedJwtException e) {
       logger.error("Invalid JWT token: {}", e.getMessage());
     } catch (ExpiredJwtException e) {
@@ -58,9 +136,11 @@ public class JwtUtils {
       logger.error("JWT token is unsupported: {}", e.getMessage());
     } catch (IllegalArgumentException e) {
       logger.error("JWT claims string is empty: {}", e.getMessage());
+    } catch (JwtException e) {
+      logger.error("Invalid JWT signature: {}", e.getMessage());
     }
 
-    return false;
+    return null;
   }
 }
 
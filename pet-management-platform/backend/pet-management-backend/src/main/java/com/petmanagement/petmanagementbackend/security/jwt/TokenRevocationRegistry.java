@@ -0,0 +1,133 @@
+package com.petmanagement.petmanagementbackend.security.jwt;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.petmanagement.petmanagementbackend.models.RevokedUser;
+import com.petmanagement.petmanagementbackend.repository.RevokedUserRepository;
+import com.petmanagement.petmanagementbackend.repository.UserRepository;
+
+/**
+ * 令牌吊销表（自包含 JWT 模式使用）
+ * 内存中保存 userId -> 当前令牌版本，令牌中的版本低于当前版本即视为已吊销。
+ * 只记录版本被递增过的用户，定期从数据库整体刷新，本节点的变更立即生效。
+ * 已删除的用户记录在 revoked_users 表中，刷新时视为全部令牌失效。
+ */
+@Component
+public class TokenRevocationRegistry {
+  private static final Logger logger = LoggerFactory.getLogger(TokenRevocationRegistry.class);
+
+  private final UserRepository userRepository;
+
+  private final RevokedUserRepository revokedUserRepository;
+
+  private final boolean enabled;
+
+  private final long accessTokenTtlMs;
+
+  private volatile Map<Long, Integer> currentVersions = Map.of();
+
+  // 本节点在两次刷新之间的变更，刷新时合并，避免被旧快照覆盖
+  private final Map<Long, Integer> localUpdates = new ConcurrentHashMap<>();
+
+  public TokenRevocationRegistry(UserRepository userRepository,
+                                 RevokedUserRepository revokedUserRepository,
+                                 @Value("${app.jwt.self-contained:false}") boolean enabled,
+                                 @Value("${app.jwt.expiration}") long accessTokenTtlMs) {
+    this.userRepository = userRepository;
+    this.revokedUserRepository = revokedUserRepository;
+    this.enabled = enabled;
+    this.accessTokenTtlMs = accessTokenTtlMs;
+  }
+
+  public boolean isRevoked(Long userId, int tokenVersion) {
+    Integer local = localUpdates.get(userId);
+    if (local != null && tokenVersion < local) {
+      return true;
+    }
+    Integer current = currentVersions.get(userId);
+    return current != null && tokenVersion < current;
+  }
+
+  /**
+   * 吊销该用户所有低于 newVersion 的令牌
+   */
+  public void revoke(Long userId, int newVersion) {
+    localUpdates.merge(userId, newVersion, Math::max);
+  }
+
+  /**
+   * 用户被删除：持久化吊销记录（需与删除用户在同一事务中调用），其他节点在下次刷新时生效
+   * 本节点的内存吊销在事务提交后才生效，删除回滚时不会误吊销仍存在的用户
+   */
+  public void revokeDeletedUser(Long userId) {
+    revokedUserRepository.save(new RevokedUser(userId, LocalDateTime.now()));
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      revoke(userId, Integer.MAX_VALUE);
+      return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCommit() {
+        revoke(userId, Integer.MAX_VALUE);
+      }
+    });
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void init() {
+    refresh();
+  }
+
+  @Scheduled(fixedDelayString = "${app.jwt.revocation.refresh-ms:30000}",
+             initialDelayString = "${app.jwt.revocation.refresh-ms:30000}")
+  public void refresh() {
+    if (!enabled) {
+      return;
+    }
+    try {
+      Map<Long, Integer> persisted = new HashMap<>();
+      for (Object[] row : userRepository.findTokenVersions()) {
+        persisted.put((Long) row[0], (Integer) row[1]);
+      }
+      for (Long userId : revokedUserRepository.findAllUserIds()) {
+        persisted.put(userId, Integer.MAX_VALUE);
+      }
+      // 数据库已追上的本地变更可以丢弃
+      localUpdates.entrySet().removeIf(e -> e.getValue() <= persisted.getOrDefault(e.getKey(), 0));
+      currentVersions = persisted;
+    } catch (Exception e) {
+      logger.error("Cannot refresh token revocation list: {}", e.getMessage());
+    }
+  }
+
+  /**
+   * 清理超过访问令牌有效期的删除记录
+   */
+  @Scheduled(cron = "${app.jwt.revoked-user-cleanup-cron:0 40 3 * * *}")
+  public void purgeExpired() {
+    if (!enabled) {
+      return;
+    }
+    try {
+      int deleted = revokedUserRepository.deleteRevokedBefore(
+          LocalDateTime.now().minus(Duration.ofMillis(accessTokenTtlMs)).minusMinutes(5));
+      logger.info("Purged {} expired revoked-user records", deleted);
+    } catch (Exception e) {
+      logger.error("Cannot purge revoked-user records: {}", e.getMessage());
+    }
+  }
+}
@@ -0,0 +1,149 @@
+package com.petmanagement.petmanagementbackend.security.jwt;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * 已验签令牌缓存
+ * 以令牌的 SHA-256 摘要为键缓存解析后的 claims 快照（堆中不保留可直接使用的令牌原文），每个条目在令牌的 exp 到期，
+ * 同一令牌重复请求时跳过 HMAC 验签和 Base64/JSON 解码。
+ * 容量满时由 Caffeine 按访问频率淘汰；缓存的快照不可变，每次命中返回独立的 Claims 副本。
+ */
+@Component
+public class VerifiedTokenCache {
+
+  private final boolean enabled;
+
+  private final Cache<String, Entry> entries;
+
+  private final LongAdder hits = new LongAdder();
+
+  private final LongAdder misses = new LongAdder();
+
+  public VerifiedTokenCache(@Value("${app.jwt.verified-cache.enabled:true}") boolean enabled,
+                            @Value("${app.jwt.verified-cache.max-size:10000}") int maxSize,
+                            MeterRegistry meterRegistry) {
+    this.enabled = enabled;
+    this.entries = Caffeine.newBuilder()
+        .maximumSize(maxSize)
+        .expireAfter(new Expiry<String, Entry>() {
+          @Override
+          public long expireAfterCreate(String key, Entry value, long currentTime) {
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, value.expiresAt - System.currentTimeMillis()));
+          }
+
+          @Override
+          public long expireAfterUpdate(String key, Entry value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+          }
+
+          @Override
+          public long expireAfterRead(String key, Entry value, long currentTime, long currentDuration) {
+            return currentDuration;
+          }
+        })
+        .build();
+
+    FunctionCounter.builder("auth.token.cache.requests", hits, LongAdder::sum)
+        .tag("result", "hit")
+        .register(meterRegistry);
+    FunctionCounter.builder("auth.token.cache.requests", misses, LongAdder::sum)
+        .tag("result", "miss")
+        .register(meterRegistry);
+    Gauge.builder("auth.token.cache.size", entries, Cache::estimatedSize)
+        .register(meterRegistry);
+  }
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  /**
+   * 返回未过期的已验签 claims，未命中返回 null
+   */
+  public Claims get(String token) {
+    if (!enabled) {
+      return null;
+    }
+
+    Entry entry = entries.getIfPresent(digest(token));
+    // Caffeine 的过期检查有时钟粒度，这里再按 exp 严格判断一次
+    if (entry == null || entry.expiresAt <= System.currentTimeMillis()) {
+      misses.increment();
+      return null;
+    }
+
+    hits.increment();
+    return Jwts.claims(entry.claims);
+  }
+
+  /**
+   * 缓存验签通过的 claims，有效期到令牌的 exp 为止
+   */
+  public void put(String token, Claims claims) {
+    if (!enabled) {
+      return;
+    }
+    Date expiration = claims.getExpiration();
+    if (expiration == null) {
+      return;
+    }
+
+    entries.put(digest(token), new Entry(snapshot(claims), expiration.getTime()));
+  }
+
+  public void clear() {
+    entries.invalidateAll();
+  }
+
+  private static String digest(String token) {
+    try {
+      byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+      return Base64.getEncoder().encodeToString(hash);
+    } catch (NoSuchAlgorithmException e) {
+      // 所有 JRE 都必须提供 SHA-256
+      throw new IllegalStateException(e);
+    }
+  }
+
+  // 只读快照：调用方修改返回的 Claims 不会影响缓存
+  private static Map<String, Object> snapshot(Claims claims) {
+    Map<String, Object> copy = new LinkedHashMap<>();
+    claims.forEach((name, value) ->
+        copy.put(name, value instanceof List<?> list ? List.copyOf(list) : value));
+    return Collections.unmodifiableMap(copy);
+  }
+
+  private static final class Entry {
+    private final Map<String, Object> claims;
+
+    private final long expiresAt;
+
+    private Entry(Map<String, Object> claims, long expiresAt) {
+      this.claims = claims;
+      this.expiresAt = expiresAt;
+    }
+  }
+}
@@ -0,0 +1,141 @@
+package com.petmanagement.petmanagementbackend.security.services;
+
+import com.petmanagement.petmanagementbackend.models.RefreshToken;
+import com.petmanagement.petmanagementbackend.models.User;
+import com.petmanagement.petmanagementbackend.repository.RefreshTokenRepository;
+import com.petmanagement.petmanagementbackend.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.UUID;
+
+/**
+ * 刷新令牌服务
+ * 访问令牌短期有效且自包含，刷新令牌每次使用后轮换；
+ * 已使用过的刷新令牌再次出现时作废整条登录链（重放检测）。
+ */
+@Service
+@Slf4j
+public class RefreshTokenService {
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final UserRepository userRepository;
+    private final long refreshExpirationMs;
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    public RefreshTokenService(RefreshTokenRepository refreshTokenRepository,
+                               UserRepository userRepository,
+                               @Value("${app.jwt.refresh-expiration:1209600000}") long refreshExpirationMs) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.userRepository = userRepository;
+        this.refreshExpirationMs = refreshExpirationMs;
+    }
+
+    /**
+     * 登录成功后签发新的刷新令牌（新的登录链）
+     */
+    @Transactional
+    public String issue(Long userId) {
+        return create(userId, UUID.randomUUID().toString());
+    }
+
+    /**
+     * 使用刷新令牌换取新的令牌，旧令牌随即失效
+     */
+    @Transactional(noRollbackFor = TokenRefreshException.class)
+    public Rotation rotate(String rawToken) {
+        RefreshToken token = refreshTokenRepository.findByTokenHash(hash(rawToken))
+                .orElseThrow(() -> new TokenRefreshException("刷新令牌无效"));
+
+        LocalDateTime now = LocalDateTime.now();
+        if (Boolean.TRUE.equals(token.getRevoked()) || token.getUsedAt() != null
+                || refreshTokenRepository.markUsed(token.getId(), now) == 0) {
+            refreshTokenRepository.revokeFamily(token.getFamilyId());
+            log.warn("检测到刷新令牌重复使用，已作废登录链: userId={}, family={}",
+                    token.getUserId(), token.getFamilyId());
+            throw new TokenRefreshException("刷新令牌已失效，请重新登录");
+        }
+        if (token.getExpiresAt().isBefore(now)) {
+            throw new TokenRefreshException("刷新令牌已过期，请重新登录");
+        }
+
+        User user = userRepository.findById(token.getUserId())
+                .orElseThrow(() -> new TokenRefreshException("用户不存在"));
+        if (Integer.valueOf(0).equals(user.getStatus())) {
+            refreshTokenRepository.revokeFamily(token.getFamilyId());
+            throw new TokenRefreshException("账号已被禁用");
+        }
+
+        String newToken = create(user.getId(), token.getFamilyId());
+        return new Rotation(UserDetailsImpl.build(user), newToken);
+    }
+
+    /**
+     * 作废用户的全部刷新令牌
+     */
+    @Transactional
+    public void revokeAll(Long userId) {
+        refreshTokenRepository.revokeAllByUserId(userId);
+    }
+
+    @Scheduled(cron = "${app.jwt.refresh-cleanup-cron:0 30 3 * * *}")
+    @Transactional
+    public void purgeExpired() {
+        int deleted = refreshTokenRepository.deleteExpired(LocalDateTime.now());
+        log.info("清理过期刷新令牌: {}", deleted);
+    }
+
+    private String create(Long userId, String familyId) {
+        byte[] bytes = new byte[32];
+        secureRandom.nextBytes(bytes);
+        String rawToken = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        RefreshToken token = new RefreshToken();
+        token.setTokenHash(hash(rawToken));
+        token.setUserId(userId);
+        token.setFamilyId(familyId);
+        token.setExpiresAt(LocalDateTime.now().plusNanos(refreshExpirationMs * 1_000_000L));
+        refreshTokenRepository.save(token);
+        return rawToken;
+    }
+
+    private static String hash(String rawToken) {
+        try {
+            MessageDigest md = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(md.digest(rawToken.getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * 轮换结果：最新的用户信息 + 新刷新令牌
+     */
+    public static final class Rotation {
+        private final UserDetailsImpl userDetails;
+        private final String refreshToken;
+
+        private Rotation(UserDetailsImpl userDetails, String refreshToken) {
+            this.userDetails = userDetails;
+            this.refreshToken = refreshToken;
+        }
+
+        public UserDetailsImpl getUserDetails() {
+            return userDetails;
+        }
+
+        public String getRefreshToken() {
+            return refreshToken;
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.petmanagement.petmanagementbackend.security.services;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * 登录密码校验专用线程池
+ * BCrypt 校验放到独立的有界线程池中执行，登录高峰不会占满 Tomcat 工作线程；
+ * 队列满时立即拒绝（调用方返回 503）。
+ */
+@Component
+public class SigninExecutor {
+
+    private final ThreadPoolExecutor executor;
+
+    private final Timer queueWaitTimer;
+    private final Timer hashTimer;
+    private final Counter rejectedCounter;
+
+    public SigninExecutor(@Value("${app.auth.signin.pool-size:4}") int poolSize,
+                          @Value("${app.auth.signin.queue-capacity:200}") int queueCapacity,
+                          MeterRegistry meterRegistry) {
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                poolSize, poolSize,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "signin-" + threadIndex.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        this.queueWaitTimer = Timer.builder("auth.signin.queue.wait")
+                .description("登录请求在队列中的等待时间")
+                .register(meterRegistry);
+        this.hashTimer = Timer.builder("auth.signin.hash")
+                .description("登录认证（密码哈希校验）耗时")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("auth.signin.rejected")
+                .description("队列已满被拒绝的登录请求")
+                .register(meterRegistry);
+        Gauge.builder("auth.signin.queue.depth", executor, e -> e.getQueue().size())
+                .register(meterRegistry);
+    }
+
+    /**
+     * 提交登录认证任务
+     * @throws RejectedExecutionException 队列已满
+     */
+    public <T> CompletableFuture<T> submit(Supplier<T> task) {
+        long submittedAt = System.nanoTime();
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                long startedAt = System.nanoTime();
+                queueWaitTimer.record(startedAt - submittedAt, TimeUnit.NANOSECONDS);
+                try {
+                    return task.get();
+                } finally {
+                    hashTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+                }
+            }, executor);
+        } catch (RejectedExecutionException e) {
+            rejectedCounter.increment();
+            throw e;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,12 @@
+package com.petmanagement.petmanagementbackend.security.services;
+
+/**
+ * 刷新令牌无效、过期或被重复使用
+ */
+public class TokenRefreshException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    public TokenRefreshException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,83 @@
+package com.petmanagement.petmanagementbackend.security.services;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * 已认证用户信息缓存
+ * AuthTokenFilter 每个请求都要加载 UserDetails，这里按用户名做有界 + TTL 缓存（Caffeine），
+ * 避免每次请求都查询 users / user_roles / roles。
+ * 用户角色、状态、密码变更时由 AdminUserController 主动失效。
+ */
+@Component
+public class UserDetailsCache {
+
+    private final boolean enabled;
+
+    private final Cache<String, UserDetailsImpl> entries;
+
+    public UserDetailsCache(@Value("${app.auth.principal-cache.enabled:true}") boolean enabled,
+                            @Value("${app.auth.principal-cache.ttl-ms:300000}") long ttlMillis,
+                            @Value("${app.auth.principal-cache.max-size:10000}") int maxSize,
+                            MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.entries = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMillis(ttlMillis))
+                .maximumSize(maxSize)
+                .recordStats()
+                .build();
+
+        FunctionCounter.builder("auth.principal.cache.requests", entries, c -> c.stats().hitCount())
+                .tag("result", "hit")
+                .register(meterRegistry);
+        FunctionCounter.builder("auth.principal.cache.requests", entries, c -> c.stats().missCount())
+                .tag("result", "miss")
+                .register(meterRegistry);
+        FunctionCounter.builder("auth.principal.cache.evictions", entries, c -> c.stats().evictionCount())
+                .register(meterRegistry);
+        Gauge.builder("auth.principal.cache.size", entries, Cache::estimatedSize)
+                .register(meterRegistry);
+    }
+
+    /**
+     * 获取缓存的用户信息，未命中或已过期时通过 loader 加载并写入缓存
+     * 同一用户并发未命中时只加载一次；加载期间该用户被失效时，失效会等加载结束后再移除
+     */
+    public UserDetailsImpl get(String username, Function<String, UserDetailsImpl> loader) {
+        if (!enabled) {
+            return loader.apply(username);
+        }
+        return entries.get(username, loader);
+    }
+
+    /**
+     * 失效指定用户（角色、状态、密码变更后调用）
+     */
+    public void invalidate(String username) {
+        entries.invalidate(username);
+    }
+
+    public void invalidateAll() {
+        entries.invalidateAll();
+    }
+
+    public long getHitCount() {
+        return entries.stats().hitCount();
+    }
+
+    public long getMissCount() {
+        return entries.stats().missCount();
+    }
+
+    public long size() {
+        return entries.estimatedSize();
+    }
+}
@@ -1,15 +1,24 @@
 package com.petmanagement.petmanagementbackend.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.petmanagement.petmanagementbackend.models.BaseDictValue;
+import com.petmanagement.petmanagementbackend.payload.DictValueDTO;
 import com.petmanagement.petmanagementbackend.repository.BaseDictValueRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.util.DigestUtils;
 
-import java.util.HashMap;
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
 import java.util.List;
-import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
@@ -22,93 +31,204 @@ import java.util.stream.Collectors;
 public class BaseDictService {
     
     private final BaseDictValueRepository dictValueRepository;
+    private final ObjectMapper objectMapper;
+    private final CacheManager cacheManager;
+    
+    // 启用字典值的内存快照，重建后整体替换
+    private volatile DictSnapshot snapshot = DictSnapshot.EMPTY;
+    private volatile boolean snapshotLoaded = false;
+    
+    /**
+     * 重新加载字典快照
+     * 启动完成后加载一次，之后定期刷新；加载失败时保留旧快照
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.dict.snapshot.refresh-ms:300000}",
+               initialDelayString = "${app.dict.snapshot.refresh-ms:300000}")
+    public synchronized void reloadSnapshot() {
+        try {
+            DictSnapshot previous = snapshot;
+            DictSnapshot loaded = DictSnapshot.build(dictValueRepository.findByStatus(1), objectMapper);
+            
+            // 先失效内容有变化的字典缓存再替换快照：新 ETag 生效时缓存中已没有旧响应
+            Set<String> changed = new HashSet<>(previous.dictCodes());
+            changed.addAll(loaded.dictCodes());
+            changed.removeIf(dictCode -> previous.etag(dictCode).equals(loaded.etag(dictCode)));
+            evictDictCaches(changed, previous, loaded);
+            snapshot = loaded;
+            snapshotLoaded = true;
+            log.info("字典快照已加载: {} 条", loaded.size());
+        } catch (Exception e) {
+            log.error("字典快照加载失败: {}", e.getMessage());
+        }
+    }
+    
+    /**
+     * 字典变更后刷新指定字典
+     * 只失效这些字典的 dictValues 缓存项（含按父级查询的缓存），并替换快照中对应的部分
+     * @param dictCodes 发生变更的字典编码
+     */
+    public synchronized void refreshDicts(Set<String> dictCodes) {
+        if (dictCodes.isEmpty()) {
+            return;
+        }
+        DictSnapshot previous = snapshot;
+        DictSnapshot updated = previous.replacing(dictCodes,
+            dictValueRepository.findByDictCodeInAndStatus(dictCodes, 1), objectMapper);
+        
+        // 与 reloadSnapshot 相同，先失效缓存再替换快照
+        evictDictCaches(dictCodes, previous, updated);
+        snapshot = updated;
+        log.info("字典已刷新: {}", dictCodes);
+    }
+    
+    // 失效字典及其按父级查询的缓存项，父级编码取新旧快照的并集
+    private void evictDictCaches(Set<String> dictCodes, DictSnapshot previous, DictSnapshot updated) {
+        Cache cache = cacheManager.getCache("dictValues");
+        if (cache == null) {
+            return;
+        }
+        for (String dictCode : dictCodes) {
+            cache.evict(dictCode);
+            Set<String> parents = new HashSet<>(previous.parentCodes(dictCode));
+            parents.addAll(updated.parentCodes(dictCode));
+            for (String parent : parents) {
+                cache.evict(dictCode + "_" + parent);
+            }
+        }
+    }
+    
+    public boolean isSnapshotLoaded() {
+        return snapshotLoaded;
+    }
+    
+    /**
+     * 字典内容的 ETag，快照未加载时返回 null（不做条件请求处理）
+     */
+    public String getDictEtag(String dictCode) {
+        return snapshotLoaded ? snapshot.etag(dictCode) : null;
+    }
+    
+    /**
+     * 按父级查询结果的 ETag
+     */
+    public String getDictEtag(String dictCode, String parentCode) {
+        if (!snapshotLoaded) {
+            return null;
+        }
+        return DigestUtils.md5DigestAsHex(
+            (snapshot.etag(dictCode) + "/" + parentCode).getBytes(StandardCharsets.UTF_8));
+    }
+    
+    /**
+     * 多个字典组合结果的 ETag（按快照缓存，同一快照只计算一次）
+     */
+    public String getDictEtag(List<String> dictCodes) {
+        return snapshotLoaded ? snapshot.etag(dictCodes) : null;
+    }
     
     /**
      * 获取字典值列表（带缓存）
+     * sync = true：缓存未命中时本节点同一字典只查询一次数据库，其余请求等待结果
      * @param dictCode 字典编码，如：pet_species, pet_breed
      * @return 字典值列表
      */
-    @Cacheable(value = "dictValues", key = "#dictCode")
-    public List<Map<String, Object>> getDictValues(String dictCode) {
+    @Cacheable(value = "dictValues", key = "#dictCode", sync = true)
+    public List<DictValueDTO> getDictValues(String dictCode) {
         log.info("从数据库查询字典值: {}", dictCode);
         
         List<BaseDictValue> values = dictValueRepository
             .findByDictCodeAndStatus(dictCode, 1);
         
         return values.stream()
-            .map(this::convertToMap)
+            .map(this::toDto)
             .collect(Collectors.toList());
     }
     
     /**
      * 根据父级查询子级（级联）
      * 例如：根据宠物种类查询品种
+     * 快照已加载时直接由快照生成，不经过共享缓存，响应与 ETag 出自同一快照；
+     * 未加载时查库并缓存
      * @param dictCode 字典编码，如：pet_breed
      * @param speciesCode 父级编码，如：dog
      * @return 子级字典值列表
      */
-    @Cacheable(value = "dictValues", key = "#dictCode + '_' + #speciesCode")
-    public List<Map<String, Object>> getDictValuesBySpecies(String dictCode, String speciesCode) {
-        log.info("查询字典值: dictCode={}, speciesCode={}", dictCode, speciesCode);
+    @Cacheable(value = "dictValues", key = "#dictCode + '_' + #speciesCode",
+               condition = "!@baseDictService.isSnapshotLoaded()", sync = true)
+    public List<DictValueDTO> getDictValuesBySpecies(String dictCode, String speciesCode) {
+        log.debug("查询字典值: dictCode={}, speciesCode={}", dictCode, speciesCode);
         
-        List<BaseDictValue> values = dictValueRepository
-            .findByDictCodeAndSpecies(dictCode, speciesCode);
+        List<BaseDictValue> values = snapshotLoaded
+            ? snapshot.children(dictCode, speciesCode)
+            : dictValueRepository.findByDictCodeAndSpecies(dictCode, speciesCode);
         
         return values.stream()
-            .map(this::convertToMap)
+            .map(this::toDto)
             .collect(Collectors.toList());
     }
     
     /**
      * 获取单个字典值
+     * 快照只含启用的值；未命中时回查数据库，已停用的值仍可按编码查到（用于显示历史数据）
      * @param dictCode 字典编码
      * @param valueCode 值编码
      * @return 字典值
      */
-    public Map<String, Object> getDictValue(String dictCode, String valueCode) {
-        return dictValueRepository
-            .findByDictCodeAndValueCode(dictCode, valueCode)
-            .map(this::convertToMap)
-            .orElse(null);
+    public DictValueDTO getDictValue(String dictCode, String valueCode) {
+        BaseDictValue value = findAnyStatus(dictCode, valueCode);
+        return value != null ? toDto(value) : null;
     }
     
     /**
-     * 验证字典值是否有效
+     * 验证字典值是否有效（存在且已启用）
      * @param dictCode 字典编码
      * @param valueCode 值编码
      * @return 是否有效
      */
     public boolean isValidDictValue(String dictCode, String valueCode) {
-        return dictValueRepository.existsByDictCodeAndValueCode(dictCode, valueCode);
+        if (snapshotLoaded) {
+            return snapshot.contains(dictCode, valueCode);
+        }
+        return dictValueRepository.existsByDictCodeAndValueCodeAndStatus(dictCode, valueCode, 1);
     }
     
     /**
-     * 获取字典值名称
+     * 获取字典值名称（与 getDictValue 相同，不区分启用状态）
      * @param dictCode 字典编码
      * @param valueCode 值编码
      * @return 值名称
      */
     public String getDictValueName(String dictCode, String valueCode) {
-        return dictValueRepository
-            .findByDictCodeAndValueCode(dictCode, valueCode)
-            .map(BaseDictValue::getValueName)
-            .orElse(null);
+        BaseDictValue value = findAnyStatus(dictCode, valueCode);
+        return value != null ? value.getValueName() : null;
+    }
+    
+    // 先查快照，未命中（未加载、已停用或不存在）再查数据库
+    private BaseDictValue findAnyStatus(String dictCode, String valueCode) {
+        if (snapshotLoaded) {
+            BaseDictValue value = snapshot.find(dictCode, valueCode);
+            if (value != null) {
+                return value;
+            }
+        }
+        return dictValueRepository.findByDictCodeAndValueCode(dictCode, valueCode).orElse(null);
     }
     
     /**
-     * 转换为Map（前端友好的格式）
+     * 转换为响应 DTO
      */
-    private Map<String, Object> convertToMap(BaseDictValue value) {
-        Map<String, Object> map = new HashMap<>();
-        map.put("id", value.getId());
-        map.put("dictCode", value.getDictCode());
-        map.put("valueCode", value.getValueCode());
-        map.put("valueName", value.getValueName());
-        map.put("valueOrder", value.getValueOrder());
-        map.put("extraData", value.getExtraData());
-        map.put("colorTag", value.getColorTag());
-        map.put("icon", value.getIcon());
-        map.put("status", value.getStatus());
-        return map;
+    private DictValueDTO toDto(BaseDictValue value) {
+        return DictValueDTO.builder()
+            .id(value.getId())
+            .dictCode(value.getDictCode())
+            .valueCode(value.getValueCode())
+            .valueName(value.getValueName())
+            .valueOrder(value.getValueOrder())
+            .extraData(value.getExtraData())
+            .colorTag(value.getColorTag())
+            .icon(value.getIcon())
+            .status(value.getStatus())
+            .build();
     }
-}
\ No newline at end of file
+}
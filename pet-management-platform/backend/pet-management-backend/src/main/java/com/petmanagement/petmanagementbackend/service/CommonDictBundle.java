@@ -0,0 +1,104 @@
+package com.petmanagement.petmanagementbackend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.petmanagement.petmanagementbackend.payload.DictValueDTO;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 常用字典合集（/api/base-dict/all-common）的预渲染响应
+ * 每个字典版本只序列化一次，同时保存原文和 gzip 两份字节，请求时直接写出。
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CommonDictBundle {
+    
+    // 响应字段名 -> 字典编码，顺序即输出顺序
+    private static final Map<String, String> DICTS = new LinkedHashMap<>();
+    static {
+        DICTS.put("petSpecies", "pet_species");
+        DICTS.put("petGender", "pet_gender");
+        DICTS.put("petSize", "pet_size");
+        DICTS.put("medicalService", "medical_service");
+        DICTS.put("fosterService", "foster_service");
+        DICTS.put("beautyService", "beauty_service");
+        DICTS.put("merchantType", "merchant_type");
+    }
+    
+    public static final List<String> DICT_CODES = List.copyOf(DICTS.values());
+    
+    private final BaseDictService baseDictService;
+    private final ObjectMapper objectMapper;
+    
+    private volatile Rendered current;
+    
+    /**
+     * 当前版本的预渲染结果；字典快照尚未加载时每次现场渲染，不缓存
+     */
+    public Rendered get() {
+        String etag = baseDictService.getDictEtag(DICT_CODES);
+        Rendered rendered = current;
+        if (rendered != null && etag != null && etag.equals(rendered.getEtag())) {
+            return rendered;
+        }
+        rendered = render(etag);
+        if (etag != null) {
+            current = rendered;
+        }
+        return rendered;
+    }
+    
+    private Rendered render(String etag) {
+        Map<String, List<DictValueDTO>> bundle = new LinkedHashMap<>();
+        DICTS.forEach((field, dictCode) ->
+            bundle.put(field, baseDictService.getDictValues(dictCode)));
+        try {
+            byte[] identity = objectMapper.writeValueAsBytes(bundle);
+            ByteArrayOutputStream out = new ByteArrayOutputStream(identity.length / 4 + 64);
+            try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+                gzip.write(identity);
+            }
+            log.info("常用字典合集已渲染: {} 字节, gzip {} 字节", identity.length, out.size());
+            return new Rendered(etag, identity, out.toByteArray());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+    
+    /**
+     * 预渲染结果，字节数组只读
+     */
+    public static final class Rendered {
+        private final String etag;
+        private final byte[] identity;
+        private final byte[] gzip;
+        
+        private Rendered(String etag, byte[] identity, byte[] gzip) {
+            this.etag = etag;
+            this.identity = identity;
+            this.gzip = gzip;
+        }
+        
+        public String getEtag() {
+            return etag;
+        }
+        
+        public byte[] getIdentity() {
+            return identity;
+        }
+        
+        public byte[] getGzip() {
+            return gzip;
+        }
+    }
+}
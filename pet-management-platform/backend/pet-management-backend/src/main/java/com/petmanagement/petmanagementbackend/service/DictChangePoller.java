@@ -0,0 +1,115 @@
+package com.petmanagement.petmanagementbackend.service;
+
+import com.petmanagement.petmanagementbackend.models.BaseDictVersion;
+import com.petmanagement.petmanagementbackend.repository.BaseDictVersionRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 字典变更日志轮询
+ * 定期读取 base_data_version 中上次之后的新记录，只刷新涉及的字典，
+ * 各节点在一个轮询周期内收敛，无需等待 dictValues 缓存过期。
+ * 自增 id 的提交顺序与分配顺序不一定一致，每次回扫最近 window 条记录，
+ * 按 id 去重，晚提交的小 id 记录不会被跳过。
+ */
+@Component
+@Slf4j
+public class DictChangePoller {
+    
+    private static final int PAGE_SIZE = 500;
+    
+    private final BaseDictVersionRepository versionRepository;
+    private final BaseDictService baseDictService;
+    private final long window;
+    
+    // 已处理到的最大变更记录 id，-1 表示尚未初始化
+    private long lastSeenId = -1;
+    
+    // 回扫窗口内已处理的记录 id
+    private final Set<Long> processedIds = new HashSet<>();
+    
+    public DictChangePoller(BaseDictVersionRepository versionRepository,
+                            BaseDictService baseDictService,
+                            @Value("${app.dict.change-poll-window:200}") long window) {
+        this.versionRepository = versionRepository;
+        this.baseDictService = baseDictService;
+        this.window = window;
+    }
+    
+    /**
+     * 启动时从最新记录开始，之前的变更已包含在启动快照中；窗口内已有记录视为已处理
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void init() {
+        try {
+            BaseDictVersion latest = versionRepository.findTopByOrderByIdDesc();
+            long latestId = latest != null ? latest.getId() : 0;
+            processedIds.clear();
+            for (BaseDictVersion change : scan(Math.max(0, latestId - window))) {
+                if (change.getId() <= latestId) {
+                    processedIds.add(change.getId());
+                }
+            }
+            lastSeenId = latestId;
+        } catch (Exception e) {
+            log.error("字典变更日志初始化失败: {}", e.getMessage());
+        }
+    }
+    
+    @Scheduled(fixedDelayString = "${app.dict.change-poll-ms:5000}",
+               initialDelayString = "${app.dict.change-poll-ms:5000}")
+    public synchronized void poll() {
+        if (lastSeenId < 0) {
+            init();
+            return;
+        }
+        try {
+            List<BaseDictVersion> changes = scan(Math.max(0, lastSeenId - window));
+            changes.removeIf(change -> processedIds.contains(change.getId()));
+            if (changes.isEmpty()) {
+                return;
+            }
+            
+            Set<String> dictCodes = new HashSet<>();
+            for (BaseDictVersion change : changes) {
+                if (change.getDictCode() != null) {
+                    dictCodes.add(change.getDictCode());
+                }
+            }
+            baseDictService.refreshDicts(dictCodes);
+            
+            // 刷新成功后才记为已处理，失败时下次轮询重试
+            for (BaseDictVersion change : changes) {
+                processedIds.add(change.getId());
+                lastSeenId = Math.max(lastSeenId, change.getId());
+            }
+            processedIds.removeIf(id -> id <= lastSeenId - window);
+        } catch (Exception e) {
+            log.error("字典变更日志轮询失败: {}", e.getMessage());
+        }
+    }
+    
+    // 分页读取 id 大于 fromId 的全部记录
+    private List<BaseDictVersion> scan(long fromId) {
+        List<BaseDictVersion> result = new ArrayList<>();
+        List<BaseDictVersion> page;
+        long cursor = fromId;
+        do {
+            page = versionRepository.findTop500ByIdGreaterThanOrderByIdAsc(cursor);
+            result.addAll(page);
+            if (!page.isEmpty()) {
+                cursor = page.get(page.size() - 1).getId();
+            }
+        } while (page.size() == PAGE_SIZE);
+        return result;
+    }
+}
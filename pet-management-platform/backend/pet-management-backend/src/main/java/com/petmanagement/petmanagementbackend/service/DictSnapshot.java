@@ -0,0 +1,202 @@
+package com.petmanagement.petmanagementbackend.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.petmanagement.petmanagementbackend.models.BaseDictValue;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 字典值内存快照（不可变）
+ * 按 (dictCode, valueCode) 和 (dictCode, 父级种类) 建立索引，查询为 O(1) 且不分配对象；
+ * 字典变更时整体重建后原子替换，读取方无需加锁。
+ * 快照中的实体只读，不得修改。
+ */
+public final class DictSnapshot {
+
+    public static final DictSnapshot EMPTY = new DictSnapshot(Map.of(), Map.of(), Map.of(), Map.of());
+
+    private static final String EMPTY_ETAG = DigestUtils.md5DigestAsHex(new byte[0]);
+
+    private static final Comparator<BaseDictValue> BY_ORDER = Comparator.comparing(
+            v -> v.getValueOrder() != null ? v.getValueOrder() : 0);
+
+    // dictCode -> 按排序号排列的字典值
+    private final Map<String, List<BaseDictValue>> valuesByDict;
+
+    // dictCode -> valueCode -> 字典值
+    private final Map<String, Map<String, BaseDictValue>> index;
+
+    // dictCode -> 父级种类编码 -> 子级字典值（如 pet_breed 按 species 分组）
+    private final Map<String, Map<String, List<BaseDictValue>>> childrenByParent;
+
+    // dictCode -> 内容摘要（用作 ETag，内容相同的节点得到相同的值）
+    private final Map<String, String> etags;
+
+    // 多字典组合的摘要，每个快照每种组合只计算一次
+    private final Map<List<String>, String> combinedEtags = new ConcurrentHashMap<>();
+
+    private DictSnapshot(Map<String, List<BaseDictValue>> valuesByDict,
+                         Map<String, Map<String, BaseDictValue>> index,
+                         Map<String, Map<String, List<BaseDictValue>>> childrenByParent,
+                         Map<String, String> etags) {
+        this.valuesByDict = valuesByDict;
+        this.index = index;
+        this.childrenByParent = childrenByParent;
+        this.etags = etags;
+    }
+
+    /**
+     * 由启用状态的字典值构建快照
+     */
+    public static DictSnapshot build(List<BaseDictValue> activeValues, ObjectMapper objectMapper) {
+        Map<String, List<BaseDictValue>> grouped = new HashMap<>();
+        for (BaseDictValue value : activeValues) {
+            grouped.computeIfAbsent(value.getDictCode(), k -> new ArrayList<>()).add(value);
+        }
+
+        Map<String, List<BaseDictValue>> valuesByDict = new HashMap<>();
+        Map<String, Map<String, BaseDictValue>> index = new HashMap<>();
+        Map<String, Map<String, List<BaseDictValue>>> childrenByParent = new HashMap<>();
+        Map<String, String> etags = new HashMap<>();
+
+        grouped.forEach((dictCode, values) -> {
+            values.sort(BY_ORDER);
+            valuesByDict.put(dictCode, Collections.unmodifiableList(values));
+
+            Map<String, BaseDictValue> byValueCode = new HashMap<>();
+            Map<String, List<BaseDictValue>> byParent = new HashMap<>();
+            for (BaseDictValue value : values) {
+                byValueCode.put(value.getValueCode(), value);
+                String parent = parentCode(value, objectMapper);
+                if (parent != null) {
+                    byParent.computeIfAbsent(parent, k -> new ArrayList<>()).add(value);
+                }
+            }
+            index.put(dictCode, Collections.unmodifiableMap(byValueCode));
+            etags.put(dictCode, contentHash(values));
+            if (!byParent.isEmpty()) {
+                byParent.replaceAll((k, v) -> Collections.unmodifiableList(v));
+                childrenByParent.put(dictCode, Collections.unmodifiableMap(byParent));
+            }
+        });
+
+        return new DictSnapshot(Collections.unmodifiableMap(valuesByDict),
+                Collections.unmodifiableMap(index),
+                Collections.unmodifiableMap(childrenByParent),
+                Collections.unmodifiableMap(etags));
+    }
+
+    /**
+     * 替换指定字典的全部值，其余字典沿用当前快照，返回新快照
+     * @param dictCodes 需要替换的字典编码
+     * @param activeValues 这些字典当前启用的值
+     */
+    public DictSnapshot replacing(Set<String> dictCodes, List<BaseDictValue> activeValues, ObjectMapper objectMapper) {
+        List<BaseDictValue> merged = new ArrayList<>(activeValues);
+        valuesByDict.forEach((dictCode, values) -> {
+            if (!dictCodes.contains(dictCode)) {
+                merged.addAll(values);
+            }
+        });
+        return build(merged, objectMapper);
+    }
+
+    /**
+     * 查找启用的字典值，不存在返回 null
+     */
+    public BaseDictValue find(String dictCode, String valueCode) {
+        Map<String, BaseDictValue> values = index.get(dictCode);
+        return values != null ? values.get(valueCode) : null;
+    }
+
+    public boolean contains(String dictCode, String valueCode) {
+        return find(dictCode, valueCode) != null;
+    }
+
+    public List<BaseDictValue> values(String dictCode) {
+        return valuesByDict.getOrDefault(dictCode, List.of());
+    }
+
+    public List<BaseDictValue> children(String dictCode, String parentCode) {
+        Map<String, List<BaseDictValue>> byParent = childrenByParent.get(dictCode);
+        return byParent != null ? byParent.getOrDefault(parentCode, List.of()) : List.of();
+    }
+
+    /**
+     * 该字典下出现过的父级编码
+     */
+    public Set<String> parentCodes(String dictCode) {
+        Map<String, List<BaseDictValue>> byParent = childrenByParent.get(dictCode);
+        return byParent != null ? byParent.keySet() : Set.of();
+    }
+
+    /**
+     * 字典内容摘要，字典不存在时返回空内容的摘要
+     */
+    public String etag(String dictCode) {
+        return etags.getOrDefault(dictCode, EMPTY_ETAG);
+    }
+
+    /**
+     * 多个字典组合的内容摘要
+     */
+    public String etag(List<String> dictCodes) {
+        return combinedEtags.computeIfAbsent(List.copyOf(dictCodes), codes -> {
+            StringBuilder sb = new StringBuilder();
+            for (String dictCode : codes) {
+                sb.append(dictCode).append('=').append(etag(dictCode)).append(';');
+            }
+            return DigestUtils.md5DigestAsHex(sb.toString().getBytes(StandardCharsets.UTF_8));
+        });
+    }
+
+    public Set<String> dictCodes() {
+        return valuesByDict.keySet();
+    }
+
+    public int size() {
+        return valuesByDict.values().stream().mapToInt(List::size).sum();
+    }
+
+    // 覆盖接口返回的全部字段
+    private static String contentHash(List<BaseDictValue> values) {
+        StringBuilder sb = new StringBuilder();
+        for (BaseDictValue v : values) {
+            sb.append(v.getId()).append('\u0001')
+              .append(v.getValueCode()).append('\u0001')
+              .append(v.getValueName()).append('\u0001')
+              .append(v.getValueOrder()).append('\u0001')
+              .append(v.getExtraData()).append('\u0001')
+              .append(v.getColorTag()).append('\u0001')
+              .append(v.getIcon()).append('\u0001')
+              .append(v.getStatus()).append('\u0002');
+        }
+        return DigestUtils.md5DigestAsHex(sb.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    // 父级编码来自 extra_data 中的 species 字段，优先使用数据库生成的 parent_value_code
+    private static String parentCode(BaseDictValue value, ObjectMapper objectMapper) {
+        if (value.getParentValueCode() != null) {
+            return value.getParentValueCode();
+        }
+        if (value.getExtraData() == null || value.getExtraData().isBlank()) {
+            return null;
+        }
+        try {
+            JsonNode species = objectMapper.readTree(value.getExtraData()).get("species");
+            return species != null && species.isTextual() ? species.asText() : null;
+        } catch (Exception e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.petmanagement.petmanagementbackend.service;
+
+import com.petmanagement.petmanagementbackend.models.VaccinationReminder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * 仅记录日志的提醒通道（开发环境使用），接入真实通道时替换为其他 ReminderNotifier 实现
+ */
+@Component
+@Slf4j
+public class LoggingReminderNotifier implements ReminderNotifier {
+    
+    @Override
+    public void send(VaccinationReminder reminder) {
+        log.info("疫苗到期提醒：宠物 {}，疫苗 {}，到期日 {}",
+            reminder.getPetId(), reminder.getVaccineCode(), reminder.getDueDate());
+    }
+}
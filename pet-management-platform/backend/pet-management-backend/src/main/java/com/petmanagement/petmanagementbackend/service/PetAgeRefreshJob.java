@@ -0,0 +1,38 @@
+package com.petmanagement.petmanagementbackend.service;
+
+import com.petmanagement.petmanagementbackend.repository.PetRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.LocalDate;
+
+/**
+ * 宠物月龄每日刷新
+ * 月龄存于 pets.age_in_months，列表查询直接读取，不再逐条做日期计算；
+ * 每天凌晨按当天日期批量重算一次，启动时也执行一次以补齐停机期间的变化。
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PetAgeRefreshJob {
+    
+    private final PetRepository petRepository;
+    private final Clock clock;
+    
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${app.pet.age-refresh-cron:0 5 0 * * *}")
+    public void refresh() {
+        LocalDate today = LocalDate.now(clock);
+        try {
+            int updated = petRepository.refreshAgeInMonths(today);
+            log.info("宠物月龄刷新完成，日期: {}，更新: {}", today, updated);
+        } catch (Exception e) {
+            log.error("宠物月龄刷新失败: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package com.petmanagement.petmanagementbackend.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.petmanagement.petmanagementbackend.models.Pet;
+import com.petmanagement.petmanagementbackend.models.PetHistory;
+import com.petmanagement.petmanagementbackend.payload.response.PetHistoryResponse;
+import com.petmanagement.petmanagementbackend.repository.PetHistoryRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * 宠物历史版本
+ * 在修改宠物的同一事务中追加记录：默认只写变化的字段，每 SNAPSHOT_INTERVAL 个版本写一次完整快照
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PetHistoryService {
+    
+    // 快照间隔（版本数），还原任一时刻最多回放 SNAPSHOT_INTERVAL - 1 条增量
+    private static final int SNAPSHOT_INTERVAL = 50;
+    
+    private static final int MAX_PAGE_SIZE = 100;
+    
+    private static final TypeReference<LinkedHashMap<String, String>> FIELDS_TYPE = new TypeReference<>() {};
+    
+    private final PetHistoryRepository historyRepository;
+    private final ObjectMapper objectMapper;
+    private final Clock clock;
+    
+    /**
+     * 跟踪的字段当前值（体重、生日等），作为修改前的基线
+     */
+    public static Map<String, String> trackedState(Pet pet) {
+        Map<String, String> state = new LinkedHashMap<>();
+        state.put("name", pet.getName());
+        state.put("breedCode", pet.getBreedCode());
+        state.put("genderCode", pet.getGenderCode());
+        state.put("birthday", pet.getBirthday() != null ? pet.getBirthday().toString() : null);
+        state.put("weight", pet.getWeight() != null ? pet.getWeight().stripTrailingZeros().toPlainString() : null);
+        state.put("color", pet.getColor());
+        return state;
+    }
+    
+    /**
+     * 新建宠物时写入首个快照
+     */
+    @Transactional
+    public void recordCreated(Pet pet, Long changedBy) {
+        append(pet.getId(), 1, PetHistory.SNAPSHOT, trackedState(pet), changedBy, LocalDateTime.now(clock));
+    }
+    
+    /**
+     * 宠物删除时清理其历史（与删除宠物在同一事务中调用）
+     */
+    @Transactional
+    public void deleteForPet(Long petId) {
+        historyRepository.deleteByPetId(petId);
+    }
+    
+    /**
+     * 修改宠物后追加一个版本，没有字段变化时不写
+     * 没有历史的旧数据先以修改前的状态补一个快照
+     * @param before 修改前的 trackedState
+     * @param beforeAt 修改前的更新时间
+     */
+    @Transactional
+    public void recordUpdate(Pet pet, Map<String, String> before, LocalDateTime beforeAt, Long changedBy) {
+        Map<String, String> after = trackedState(pet);
+        Map<String, String> delta = new LinkedHashMap<>();
+        after.forEach((field, value) -> {
+            if (!Objects.equals(before.get(field), value)) {
+                delta.put(field, value);
+            }
+        });
+        if (delta.isEmpty()) {
+            return;
+        }
+        
+        int latest = historyRepository.findTopByPetIdOrderByVersionDesc(pet.getId())
+            .map(PetHistory::getVersion)
+            .orElse(0);
+        if (latest == 0) {
+            append(pet.getId(), 1, PetHistory.SNAPSHOT, before, null, beforeAt);
+            latest = 1;
+        }
+        
+        int version = latest + 1;
+        if (version % SNAPSHOT_INTERVAL == 1) {
+            append(pet.getId(), version, PetHistory.SNAPSHOT, after, changedBy, LocalDateTime.now(clock));
+        } else {
+            append(pet.getId(), version, PetHistory.DELTA, delta, changedBy, LocalDateTime.now(clock));
+        }
+    }
+    
+    /**
+     * 历史版本列表，按版本倒序
+     * @param beforeVersion 上一页最后一条的版本号，首页为空
+     */
+    @Transactional(readOnly = true)
+    public List<PetHistoryResponse> getHistory(Long petId, Integer beforeVersion, int size) {
+        return historyRepository.findByPetIdAndVersionLessThanOrderByVersionDesc(
+                petId,
+                beforeVersion != null ? beforeVersion : Integer.MAX_VALUE,
+                PageRequest.of(0, Math.min(Math.max(size, 1), MAX_PAGE_SIZE)))
+            .stream()
+            .map(h -> new PetHistoryResponse(h.getVersion(),
+                PetHistory.SNAPSHOT.equals(h.getEntryType()) ? "SNAPSHOT" : "DELTA",
+                readFields(h), h.getChangedBy(), h.getChangedAt()))
+            .collect(Collectors.toList());
+    }
+    
+    /**
+     * 还原指定日期结束时的状态：最近一个快照 + 其后的增量
+     */
+    @Transactional(readOnly = true)
+    public PetHistoryResponse getStateAsOf(Long petId, LocalDate date) {
+        LocalDateTime at = date.plusDays(1).atStartOfDay().minusNanos(1);
+        PetHistory snapshot = historyRepository
+            .findTopByPetIdAndEntryTypeAndChangedAtLessThanEqualOrderByVersionDesc(petId, PetHistory.SNAPSHOT, at)
+            .orElseThrow(() -> new RuntimeException("该日期之前没有历史记录"));
+        
+        Map<String, String> state = readFields(snapshot);
+        PetHistory last = snapshot;
+        for (PetHistory delta : historyRepository
+                .findByPetIdAndVersionGreaterThanAndChangedAtLessThanEqualOrderByVersionAsc(
+                    petId, snapshot.getVersion(), at)) {
+            state.putAll(readFields(delta));
+            last = delta;
+        }
+        return new PetHistoryResponse(last.getVersion(), "STATE", state, last.getChangedBy(), last.getChangedAt());
+    }
+    
+    private void append(Long petId, int version, String entryType, Map<String, String> fields,
+                        Long changedBy, LocalDateTime changedAt) {
+        PetHistory history = new PetHistory();
+        history.setPetId(petId);
+        history.setVersion(version);
+        history.setEntryType(entryType);
+        history.setChangedBy(changedBy);
+        history.setChangedAt(changedAt);
+        try {
+            history.setChanges(objectMapper.writeValueAsString(fields));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+        historyRepository.save(history);
+    }
+    
+    private Map<String, String> readFields(PetHistory history) {
+        try {
+            return objectMapper.readValue(history.getChanges(), FIELDS_TYPE);
+        } catch (JsonProcessingException e) {
+            log.error("宠物历史记录解析失败，ID: {}", history.getId());
+            return new LinkedHashMap<>();
+        }
+    }
+}
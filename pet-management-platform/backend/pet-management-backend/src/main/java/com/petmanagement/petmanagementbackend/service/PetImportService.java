@@ -0,0 +1,323 @@
+package com.petmanagement.petmanagementbackend.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.petmanagement.petmanagementbackend.models.PetVital;
+import com.petmanagement.petmanagementbackend.payload.request.AddPetRequest;
+import com.petmanagement.petmanagementbackend.payload.response.PetImportResponse;
+import com.petmanagement.petmanagementbackend.repository.CustomerRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.IncorrectResultSizeDataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.SqlTypeValue;
+import org.springframework.jdbc.core.StatementCreatorUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 宠物批量导入（商家迁移客户数据）
+ * 逐行读取 CSV 或 JSON Lines，字典校验走内存快照，校验通过的行按批 JDBC 插入；
+ * 带体重的宠物在同一事务中批量写入 pet_vitals 体重样本。
+ * 单行错误只记录不中断，内存占用与文件大小无关。
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PetImportService {
+    
+    // 每批插入行数（配合连接串 rewriteBatchedStatements=true 合并为多值 INSERT）
+    private static final int BATCH_SIZE = 500;
+    
+    // 返回的错误明细上限
+    private static final int MAX_ERRORS = 1000;
+    
+    // CSV 表头可用的列名（与 AddPetRequest 字段一致）
+    private static final Set<String> CSV_COLUMNS = Set.of("customerId", "name", "speciesCode", "breedCode",
+        "genderCode", "birthDate", "weight", "color", "description", "avatarUrl");
+    
+    private static final String INSERT_SQL =
+        "INSERT INTO pets (owner_id, customer_id, name, species_code, species_name, breed_code, breed_name, " +
+        "gender_code, gender_name, birthday, age_in_months, weight, color, description, avatar_url, " +
+        "created_at, updated_at) VALUES (NULL, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    
+    private static final String INSERT_VITAL_SQL =
+        "INSERT INTO pet_vitals (pet_id, metric, value, measured_at, source) VALUES (?, ?, ?, ?, ?)";
+    
+    // INSERT_SQL 参数中体重和创建时间的位置
+    private static final int WEIGHT_ARG = 10;
+    private static final int CREATED_AT_ARG = 14;
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final CustomerRepository customerRepository;
+    private final BaseDictService baseDictService;
+    private final ObjectMapper objectMapper;
+    private final Clock clock;
+    
+    public enum Format { CSV, JSON_LINES }
+    
+    /**
+     * 导入宠物到商家的客户名下
+     * @param merchantId 商家ID，只能导入到该商家自己的客户
+     * @param reader 请求体
+     */
+    public PetImportResponse importPets(Long merchantId, BufferedReader reader, Format format) throws IOException {
+        log.info("商家 {} 开始批量导入宠物，格式: {}", merchantId, format);
+        
+        Set<Long> customerIds = new HashSet<>(customerRepository.findIdsByMerchantId(merchantId));
+        PetImportResponse result = new PetImportResponse();
+        List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+        List<Integer> batchLines = new ArrayList<>(BATCH_SIZE);
+        LocalDateTime now = LocalDateTime.now(clock);
+        LocalDate today = now.toLocalDate();
+        
+        String[] header = null;
+        String line;
+        int lineNo = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNo++;
+            if (line.isBlank()) {
+                continue;
+            }
+            if (format == Format.CSV && header == null) {
+                header = parseHeader(line);
+                continue;
+            }
+            
+            result.setTotal(result.getTotal() + 1);
+            try {
+                AddPetRequest row = format == Format.CSV
+                    ? toRequest(header, parseCsvLine(line))
+                    : parseJsonLine(line);
+                batch.add(toInsertArgs(row, customerIds, now, today));
+                batchLines.add(lineNo);
+            } catch (Exception e) {
+                addError(result, lineNo, e);
+                continue;
+            }
+            
+            if (batch.size() >= BATCH_SIZE) {
+                flush(batch, batchLines, result);
+            }
+        }
+        flush(batch, batchLines, result);
+        
+        log.info("商家 {} 批量导入宠物完成，共 {} 行，成功 {}，失败 {}",
+            merchantId, result.getTotal(), result.getImported(), result.getFailed());
+        return result;
+    }
+    
+    /**
+     * 批量插入；整批失败时逐行重试，定位出错的行
+     */
+    private void flush(List<Object[]> batch, List<Integer> batchLines, PetImportResponse result) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            insert(batch);
+            result.setImported(result.getImported() + batch.size());
+        } catch (DataAccessException e) {
+            log.warn("批量插入失败，改为逐行插入: {}", e.getMostSpecificCause().getMessage());
+            for (int i = 0; i < batch.size(); i++) {
+                try {
+                    insert(Collections.singletonList(batch.get(i)));
+                    result.setImported(result.getImported() + 1);
+                } catch (DataAccessException rowError) {
+                    addError(result, batchLines.get(i), new RuntimeException(
+                        rowError.getMostSpecificCause().getMessage()));
+                }
+            }
+        }
+        batch.clear();
+        batchLines.clear();
+    }
+    
+    /**
+     * 插入宠物并为带体重的宠物写入体重样本，同一事务提交
+     */
+    private void insert(List<Object[]> rows) {
+        transactionTemplate.executeWithoutResult(status -> {
+            List<Long> petIds = insertPets(rows);
+            List<Object[]> vitals = new ArrayList<>();
+            for (int i = 0; i < rows.size(); i++) {
+                Object[] row = rows.get(i);
+                if (row[WEIGHT_ARG] != null) {
+                    vitals.add(new Object[] {
+                        petIds.get(i), PetVital.WEIGHT, row[WEIGHT_ARG], row[CREATED_AT_ARG], "IMPORT"
+                    });
+                }
+            }
+            if (!vitals.isEmpty()) {
+                jdbcTemplate.batchUpdate(INSERT_VITAL_SQL, vitals);
+            }
+        });
+    }
+    
+    // 批量插入宠物并按插入顺序返回生成的ID
+    private List<Long> insertPets(List<Object[]> rows) {
+        return jdbcTemplate.execute((ConnectionCallback<List<Long>>) connection -> {
+            try (PreparedStatement ps = connection.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
+                for (Object[] row : rows) {
+                    for (int i = 0; i < row.length; i++) {
+                        StatementCreatorUtils.setParameterValue(ps, i + 1, SqlTypeValue.TYPE_UNKNOWN, row[i]);
+                    }
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+                
+                List<Long> ids = new ArrayList<>(rows.size());
+                try (ResultSet keys = ps.getGeneratedKeys()) {
+                    while (keys.next()) {
+                        ids.add(keys.getLong(1));
+                    }
+                }
+                if (ids.size() != rows.size()) {
+                    throw new IncorrectResultSizeDataAccessException("宠物ID返回数量与插入行数不一致", rows.size(), ids.size());
+                }
+                return ids;
+            }
+        });
+    }
+    
+    private Object[] toInsertArgs(AddPetRequest row, Set<Long> customerIds, LocalDateTime now, LocalDate today) {
+        if (row.getCustomerId() == null) {
+            throw new RuntimeException("客户ID不能为空");
+        }
+        if (!customerIds.contains(row.getCustomerId())) {
+            throw new RuntimeException("客户不存在");
+        }
+        if (row.getName() == null || row.getName().isBlank()) {
+            throw new RuntimeException("宠物名称不能为空");
+        }
+        if (row.getName().length() > 50) {
+            throw new RuntimeException("宠物名称不能超过50个字符");
+        }
+        String speciesName = requireDictName("pet_species", row.getSpeciesCode(), "无效的宠物种类");
+        String breedName = requireDictName("pet_breed", row.getBreedCode(), "无效的宠物品种");
+        String genderName = requireDictName("pet_gender", row.getGenderCode(), "无效的宠物性别");
+        
+        Integer ageInMonths = PetService.ageInMonths(row.getBirthDate(), today);
+        Timestamp timestamp = Timestamp.valueOf(now);
+        return new Object[] {
+            row.getCustomerId(), row.getName(),
+            row.getSpeciesCode(), speciesName, row.getBreedCode(), breedName, row.getGenderCode(), genderName,
+            row.getBirthDate() != null ? Date.valueOf(row.getBirthDate()) : null, ageInMonths,
+            row.getWeight(), row.getColor(), row.getDescription(), row.getAvatarUrl(),
+            timestamp, timestamp
+        };
+    }
+    
+    // 与 PetService.validateDictValues 一致只接受启用的字典值，校验通过后再取名称（快照加载后均为内存查找）
+    private String requireDictName(String dictCode, String valueCode, String message) {
+        if (valueCode == null || !baseDictService.isValidDictValue(dictCode, valueCode)) {
+            throw new RuntimeException(message);
+        }
+        return baseDictService.getDictValueName(dictCode, valueCode);
+    }
+    
+    private void addError(PetImportResponse result, int lineNo, Exception e) {
+        result.setFailed(result.getFailed() + 1);
+        if (result.getErrors().size() < MAX_ERRORS) {
+            result.getErrors().add(new PetImportResponse.RowError(lineNo, e.getMessage()));
+        }
+    }
+    
+    private AddPetRequest parseJsonLine(String line) {
+        try {
+            return objectMapper.readValue(line, AddPetRequest.class);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("数据格式错误: " + e.getOriginalMessage());
+        }
+    }
+    
+    private static String[] parseHeader(String line) {
+        String[] header = parseCsvLine(line.startsWith("\uFEFF") ? line.substring(1) : line);
+        for (int i = 0; i < header.length; i++) {
+            header[i] = header[i].trim();
+            if (!CSV_COLUMNS.contains(header[i])) {
+                throw new IllegalArgumentException("未知的列: " + header[i]);
+            }
+        }
+        return header;
+    }
+    
+    private static AddPetRequest toRequest(String[] header, String[] fields) {
+        Map<String, String> values = new HashMap<>();
+        for (int i = 0; i < header.length && i < fields.length; i++) {
+            String value = fields[i].trim();
+            if (!value.isEmpty()) {
+                values.put(header[i], value);
+            }
+        }
+        AddPetRequest row = new AddPetRequest();
+        try {
+            row.setCustomerId(values.containsKey("customerId") ? Long.valueOf(values.get("customerId")) : null);
+            row.setBirthDate(values.containsKey("birthDate") ? LocalDate.parse(values.get("birthDate")) : null);
+            row.setWeight(values.containsKey("weight") ? new BigDecimal(values.get("weight")) : null);
+        } catch (RuntimeException e) {
+            throw new RuntimeException("数据格式错误: " + e.getMessage());
+        }
+        row.setName(values.get("name"));
+        row.setSpeciesCode(values.get("speciesCode"));
+        row.setBreedCode(values.get("breedCode"));
+        row.setGenderCode(values.get("genderCode"));
+        row.setColor(values.get("color"));
+        row.setDescription(values.get("description"));
+        row.setAvatarUrl(values.get("avatarUrl"));
+        return row;
+    }
+    
+    /**
+     * 解析一行 CSV（支持双引号包裹和 "" 转义，不支持字段内换行）
+     */
+    private static String[] parseCsvLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        fields.add(current.toString());
+        return fields.toArray(new String[0]);
+    }
+}
@@ -2,21 +2,30 @@ package com.petmanagement.petmanagementbackend.service;
 
 import com.petmanagement.petmanagementbackend.models.Customer;
 import com.petmanagement.petmanagementbackend.models.Pet;
+import com.petmanagement.petmanagementbackend.models.PetVital;
 import com.petmanagement.petmanagementbackend.payload.request.AddPetRequest;
+import com.petmanagement.petmanagementbackend.payload.request.AddVitalRequest;
 import com.petmanagement.petmanagementbackend.payload.request.UpdatePetRequest;
+import com.petmanagement.petmanagementbackend.payload.response.PetHistoryResponse;
+import com.petmanagement.petmanagementbackend.payload.response.PetPageResponse;
 import com.petmanagement.petmanagementbackend.payload.response.PetResponse;
+import com.petmanagement.petmanagementbackend.payload.response.VitalSeriesResponse;
 import com.petmanagement.petmanagementbackend.repository.CustomerRepository;
 import com.petmanagement.petmanagementbackend.repository.PetRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.time.Clock;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.Period;
-import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
@@ -26,6 +35,13 @@ public class PetService {
     private final PetRepository petRepository;
     private final CustomerRepository customerRepository;
     private final BaseDictService baseDictService;
+    private final PetHistoryService petHistoryService;
+    private final PetVitalService petVitalService;
+    private final VaccinationReminderService vaccinationReminderService;
+    private final Clock clock;
+    
+    // 分页查询单页上限
+    private static final int MAX_PAGE_SIZE = 500;
     
     /**
      * 用户添加自己的宠物
@@ -51,12 +67,15 @@ public class PetService {
         pet.setGenderCode(request.getGenderCode());
         pet.setGenderName(genderName);
         pet.setBirthday(request.getBirthDate());
+        pet.setAgeInMonths(ageInMonths(request.getBirthDate(), LocalDate.now(clock)));
         pet.setWeight(request.getWeight());
         pet.setColor(request.getColor());
         pet.setDescription(request.getDescription());
         pet.setAvatarUrl(request.getAvatarUrl());
         
         Pet savedPet = petRepository.save(pet);
+        petHistoryService.recordCreated(savedPet, userId);
+        recordWeight(savedPet);
         log.info("宠物添加成功，ID: {}", savedPet.getId());
         
         return convertToResponse(savedPet);
@@ -90,12 +109,15 @@ public class PetService {
         pet.setGenderCode(request.getGenderCode());
         pet.setGenderName(genderName);
         pet.setBirthday(request.getBirthDate());
+        pet.setAgeInMonths(ageInMonths(request.getBirthDate(), LocalDate.now(clock)));
         pet.setWeight(request.getWeight());
         pet.setColor(request.getColor());
         pet.setDescription(request.getDescription());
         pet.setAvatarUrl(request.getAvatarUrl());
         
         Pet savedPet = petRepository.save(pet);
+        petHistoryService.recordCreated(savedPet, null);
+        recordWeight(savedPet);
         log.info("为客户添加宠物成功，宠物ID: {}", savedPet.getId());
         
         return convertToResponse(savedPet);
@@ -104,59 +126,122 @@ public class PetService {
     /**
      * 获取用户自己的宠物列表
      */
+    @Transactional(readOnly = true)
     public List<PetResponse> getMyPets(Long userId) {
         log.info("查询用户 {} 的宠物列表", userId);
-        List<Pet> pets = petRepository.findByOwnerId(userId);
-        return pets.stream().map(this::convertToResponse).collect(Collectors.toList());
+        return petRepository.findResponsesByOwnerId(userId);
     }
     
     /**
      * ✅ 获取客户的宠物列表
      */
+    @Transactional(readOnly = true)
     public List<PetResponse> getCustomerPets(Long customerId) {
         log.info("查询客户 {} 的宠物列表", customerId);
-        List<Pet> pets = petRepository.findByCustomerId(customerId);
-        return pets.stream().map(this::convertToResponse).collect(Collectors.toList());
+        return petRepository.findResponsesByCustomerId(customerId);
     }
     
     /**
      * ✅ 获取商家所有客户的宠物（用于订单创建时选择）
+     * 一次关联查询得到结果；size 为空时返回全部，否则按宠物ID键集分页
+     * @param afterId 上一页最后一条的宠物ID，首页为空
+     * @param size 每页条数，为空表示不分页
      */
-    public List<PetResponse> getMerchantCustomerPets(Long merchantId) {
+    @Transactional(readOnly = true)
+    public List<PetResponse> getMerchantCustomerPets(Long merchantId, Long afterId, Integer size) {
         log.info("查询商家 {} 的所有客户宠物", merchantId);
         
-        // 获取商家的所有客户
-        List<Customer> customers = customerRepository.findByMerchantId(merchantId);
-        
-        // 获取所有客户的宠物
-        List<Pet> allPets = new ArrayList<>();
-        for (Customer customer : customers) {
-            List<Pet> pets = petRepository.findByCustomerId(customer.getId());
-            allPets.addAll(pets);
-        }
-        
-        return allPets.stream().map(this::convertToResponse).collect(Collectors.toList());
+        Pageable pageable = size != null
+            ? PageRequest.of(0, Math.min(Math.max(size, 1), MAX_PAGE_SIZE))
+            : Pageable.unpaged();
+        return petRepository.findMerchantCustomerPets(
+            merchantId, afterId != null ? afterId : 0L, pageable);
     }
     
     /**
-     * 获取所有宠物列表（管理员使用）
+     * 管理员分页查询宠物列表，按ID倒序的键集分页，条件均可为空
+     * 列表不返回描述字段；多取一条用于判断是否有下一页
+     * @param cursor 上一页返回的 nextCursor，首页为空
      */
-    public List<PetResponse> getAllPets() {
-        log.info("查询所有宠物列表");
-        List<Pet> pets = petRepository.findAll();
-        return pets.stream().map(this::convertToResponse).collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public PetPageResponse getPetPage(String speciesCode, String breedCode, Long ownerId, Long customerId,
+                                      Long cursor, int size) {
+        int limit = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        log.info("管理员分页查询宠物: species={}, breed={}, owner={}, customer={}, cursor={}, size={}",
+                speciesCode, breedCode, ownerId, customerId, cursor, limit);
+        
+        List<PetResponse> pets = petRepository.findPetPage(
+            speciesCode, breedCode, ownerId, customerId, cursor, limit + 1);
+        Long nextCursor = null;
+        if (pets.size() > limit) {
+            pets = pets.subList(0, limit);
+            nextCursor = pets.get(limit - 1).getId();
+        }
+        
+        // 只在首页估算总数，翻页时不再重复查询
+        Long estimatedTotal = cursor == null
+            ? petRepository.estimatePetCount(speciesCode, breedCode, ownerId, customerId)
+            : null;
+        return new PetPageResponse(pets, nextCursor, estimatedTotal);
     }
     
     /**
      * 获取宠物详情
      */
+    @Transactional(readOnly = true)
     public PetResponse getPetDetail(Long userId, Long petId) {
         log.info("查询宠物详情，用户: {}, 宠物ID: {}", userId, petId);
         
-        Pet pet = petRepository.findByIdAndOwnerId(petId, userId)
+        return petRepository.findResponseByIdAndOwnerId(petId, userId)
                 .orElseThrow(() -> new RuntimeException("宠物不存在或无权访问"));
+    }
+    
+    /**
+     * 宠物历史版本列表（仅宠物主人）
+     */
+    @Transactional(readOnly = true)
+    public List<PetHistoryResponse> getPetHistory(Long userId, Long petId, Integer beforeVersion, int size) {
+        requireOwnedPet(userId, petId);
+        return petHistoryService.getHistory(petId, beforeVersion, size);
+    }
+    
+    /**
+     * 宠物在指定日期的状态（仅宠物主人）
+     */
+    @Transactional(readOnly = true)
+    public PetHistoryResponse getPetStateAsOf(Long userId, Long petId, LocalDate date) {
+        requireOwnedPet(userId, petId);
+        return petHistoryService.getStateAsOf(petId, date);
+    }
+    
+    /**
+     * 宠物体征序列（仅宠物主人），按时间分桶降采样
+     */
+    @Transactional(readOnly = true)
+    public VitalSeriesResponse getPetVitals(Long userId, Long petId, String metric,
+                                            LocalDateTime from, LocalDateTime to, Integer buckets) {
+        requireOwnedPet(userId, petId);
+        return petVitalService.getSeries(petId, metric, from, to, buckets);
+    }
+    
+    /**
+     * 录入一次体征测量（仅宠物主人）；录入体重时同步宠物当前体重
+     */
+    @Transactional
+    public void addPetVital(Long userId, Long petId, AddVitalRequest request) {
+        Pet pet = petRepository.findForUpdateByIdAndOwnerId(petId, userId)
+                .orElseThrow(() -> new RuntimeException("宠物不存在或无权访问"));
+        LocalDateTime measuredAt = request.getMeasuredAt() != null ? request.getMeasuredAt() : LocalDateTime.now(clock);
+        petVitalService.record(petId, request.getMetric(), request.getValue(), measuredAt, "MANUAL");
         
-        return convertToResponse(pet);
+        if (PetVital.WEIGHT.equals(request.getMetric())
+                && (pet.getUpdatedAt() == null || !measuredAt.isBefore(pet.getUpdatedAt()))) {
+            Map<String, String> before = PetHistoryService.trackedState(pet);
+            LocalDateTime beforeAt = pet.getUpdatedAt();
+            pet.setWeight(request.getValue());
+            petRepository.save(pet);
+            petHistoryService.recordUpdate(pet, before, beforeAt, userId);
+        }
     }
     
     /**
@@ -166,23 +251,33 @@ public class PetService {
     public PetResponse updatePet(Long userId, Long petId, UpdatePetRequest request) {
         log.info("更新宠物信息，用户: {}, 宠物ID: {}", userId, petId);
         
-        Pet pet = petRepository.findByIdAndOwnerId(petId, userId)
+        Pet pet = petRepository.findForUpdateByIdAndOwnerId(petId, userId)
                 .orElseThrow(() -> new RuntimeException("宠物不存在或无权访问"));
         
         validateDictValues(pet.getSpeciesCode(), request.getBreedCode(), request.getGenderCode());
         
+        Map<String, String> before = PetHistoryService.trackedState(pet);
+        LocalDateTime beforeAt = pet.getUpdatedAt();
+        BigDecimal beforeWeight = pet.getWeight();
+        
         pet.setName(request.getName());
         pet.setBreedCode(request.getBreedCode());
         pet.setBreedName(baseDictService.getDictValueName("pet_breed", request.getBreedCode()));
         pet.setGenderCode(request.getGenderCode());
         pet.setGenderName(baseDictService.getDictValueName("pet_gender", request.getGenderCode()));
         pet.setBirthday(request.getBirthDate());
+        pet.setAgeInMonths(ageInMonths(request.getBirthDate(), LocalDate.now(clock)));
         pet.setWeight(request.getWeight());
         pet.setColor(request.getColor());
         pet.setDescription(request.getDescription());
         pet.setAvatarUrl(request.getAvatarUrl());
         
         Pet updatedPet = petRepository.save(pet);
+        petHistoryService.recordUpdate(updatedPet, before, beforeAt, userId);
+        if (beforeWeight == null || updatedPet.getWeight() == null
+                || beforeWeight.compareTo(updatedPet.getWeight()) != 0) {
+            recordWeight(updatedPet);
+        }
         log.info("宠物信息更新成功，ID: {}", petId);
         
         return convertToResponse(updatedPet);
@@ -190,6 +285,7 @@ public class PetService {
     
     /**
      * 删除宠物
+     * 宠物的疫苗提醒、历史版本和体征记录在同一事务中一并删除，不会继续给已删除的宠物发送提醒
      */
     @Transactional
     public void deletePet(Long userId, Long petId) {
@@ -198,10 +294,26 @@ public class PetService {
         Pet pet = petRepository.findByIdAndOwnerId(petId, userId)
                 .orElseThrow(() -> new RuntimeException("宠物不存在或无权访问"));
         
+        vaccinationReminderService.removeForPet(petId);
+        petHistoryService.deleteForPet(petId);
+        petVitalService.deleteForPet(petId);
         petRepository.delete(pet);
         log.info("宠物删除成功，ID: {}", petId);
     }
     
+    // 宠物当前体重写入体重序列
+    private void recordWeight(Pet pet) {
+        if (pet.getWeight() != null) {
+            petVitalService.record(pet.getId(), PetVital.WEIGHT, pet.getWeight(), LocalDateTime.now(clock), "PET");
+        }
+    }
+    
+    private void requireOwnedPet(Long userId, Long petId) {
+        if (petRepository.findByIdAndOwnerId(petId, userId).isEmpty()) {
+            throw new RuntimeException("宠物不存在或无权访问");
+        }
+    }
+    
     private void validateDictValues(String speciesCode, String breedCode, String genderCode) {
         if (!baseDictService.isValidDictValue("pet_species", speciesCode)) {
             throw new RuntimeException("无效的宠物种类");
@@ -214,13 +326,18 @@ public class PetService {
         }
     }
     
-    private PetResponse convertToResponse(Pet pet) {
-        Integer ageInMonths = null;
-        if (pet.getBirthday() != null) {
-            Period period = Period.between(pet.getBirthday(), LocalDate.now());
-            ageInMonths = period.getYears() * 12 + period.getMonths();
+    /**
+     * 月龄计算口径，与 PetRepository.refreshAgeInMonths 一致
+     */
+    public static Integer ageInMonths(LocalDate birthday, LocalDate today) {
+        if (birthday == null) {
+            return null;
         }
-        
+        Period period = Period.between(birthday, today);
+        return period.getYears() * 12 + period.getMonths();
+    }
+    
+    private PetResponse convertToResponse(Pet pet) {
         return PetResponse.builder()
                 .id(pet.getId())
                 .name(pet.getName())
@@ -231,7 +348,7 @@ public class PetService {
                 .genderCode(pet.getGenderCode())
                 .genderName(pet.getGenderName())
                 .birthDate(pet.getBirthday())
-                .ageInMonths(ageInMonths)
+                .ageInMonths(pet.getAgeInMonths())
                 .weight(pet.getWeight())
                 .color(pet.getColor())
                 .description(pet.getDescription())
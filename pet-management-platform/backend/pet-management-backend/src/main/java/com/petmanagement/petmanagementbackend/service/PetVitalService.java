@@ -0,0 +1,88 @@
+package com.petmanagement.petmanagementbackend.service;
+
+import com.petmanagement.petmanagementbackend.models.PetVital;
+import com.petmanagement.petmanagementbackend.payload.response.VitalSeriesResponse;
+import com.petmanagement.petmanagementbackend.repository.PetVitalRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * 宠物体征时间序列
+ * 查询时在数据库中按时间分桶聚合（最小/最大/平均），返回的点数不超过桶数，与历史数据量无关
+ */
+@Service
+@RequiredArgsConstructor
+public class PetVitalService {
+    
+    private static final int DEFAULT_BUCKETS = 100;
+    private static final int MAX_BUCKETS = 1000;
+    
+    // 未指定开始时间时默认查询最近一年
+    private static final Duration DEFAULT_RANGE = Duration.ofDays(365);
+    
+    private final PetVitalRepository vitalRepository;
+    private final Clock clock;
+    
+    /**
+     * 记录一次测量
+     * @param measuredAt 为空时取当前时间
+     */
+    @Transactional
+    public void record(Long petId, String metric, BigDecimal value, LocalDateTime measuredAt, String source) {
+        PetVital vital = new PetVital();
+        vital.setPetId(petId);
+        vital.setMetric(metric);
+        vital.setValue(value);
+        vital.setMeasuredAt(measuredAt != null ? measuredAt : LocalDateTime.now(clock));
+        vital.setSource(source);
+        vitalRepository.save(vital);
+    }
+    
+    /**
+     * 宠物删除时清理其测量记录（与删除宠物在同一事务中调用）
+     */
+    @Transactional
+    public void deleteForPet(Long petId) {
+        vitalRepository.deleteByPetId(petId);
+    }
+    
+    /**
+     * 查询降采样后的序列
+     * @param from 开始时间，为空时为 to 前一年
+     * @param to 结束时间，为空时为当前时间
+     * @param buckets 桶数（返回点数上限）
+     */
+    @Transactional(readOnly = true)
+    public VitalSeriesResponse getSeries(Long petId, String metric, LocalDateTime from, LocalDateTime to,
+                                         Integer buckets) {
+        LocalDateTime end = to != null ? to : LocalDateTime.now(clock);
+        LocalDateTime start = from != null ? from : end.minus(DEFAULT_RANGE);
+        if (!start.isBefore(end)) {
+            throw new IllegalArgumentException("开始时间必须早于结束时间");
+        }
+        int bucketCount = buckets != null ? Math.min(Math.max(buckets, 1), MAX_BUCKETS) : DEFAULT_BUCKETS;
+        long rangeSeconds = Duration.between(start, end).getSeconds();
+        long bucketSeconds = Math.max(1, (rangeSeconds + bucketCount - 1) / bucketCount);
+        
+        List<VitalSeriesResponse.Point> points = vitalRepository
+            .aggregate(petId, metric, start, end, bucketSeconds)
+            .stream()
+            .map(b -> new VitalSeriesResponse.Point(
+                start.plusSeconds(b.getBucket().longValue() * bucketSeconds),
+                b.getMinValue(),
+                b.getMaxValue(),
+                b.getAvgValue() != null ? b.getAvgValue().setScale(3, RoundingMode.HALF_UP) : null,
+                b.getSamples().longValue()))
+            .collect(Collectors.toList());
+        return new VitalSeriesResponse(metric, start, end, bucketSeconds, points);
+    }
+}
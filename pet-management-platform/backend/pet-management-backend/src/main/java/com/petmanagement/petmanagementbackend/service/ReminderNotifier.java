@@ -0,0 +1,11 @@
+package com.petmanagement.petmanagementbackend.service;
+
+import com.petmanagement.petmanagementbackend.models.VaccinationReminder;
+
+/**
+ * 提醒发送通道（短信、推送等），抛出异常表示发送失败，稍后重试
+ */
+public interface ReminderNotifier {
+    
+    void send(VaccinationReminder reminder);
+}
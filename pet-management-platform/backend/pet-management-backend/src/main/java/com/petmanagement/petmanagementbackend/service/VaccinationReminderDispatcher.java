@@ -0,0 +1,113 @@
+package com.petmanagement.petmanagementbackend.service;
+
+import com.petmanagement.petmanagementbackend.models.ReminderStatus;
+import com.petmanagement.petmanagementbackend.models.VaccinationReminder;
+import com.petmanagement.petmanagementbackend.repository.VaccinationReminderRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+/**
+ * 疫苗提醒发送
+ * 定期按 (status, remind_at) 索引分批取出到期的提醒，逐条认领为发送中（带租约）后交给 ReminderNotifier，
+ * 发送返回后才标记为已发送；只读取到期的行，与提醒总量无关。
+ * 发送失败的稍后重试，超过次数标记为失败；节点在发送过程中宕机时，租约到期后由其他节点重新认领（至少发送一次），
+ * 租约过期同样计入失败次数，反复导致宕机或卡住的提醒最终也会标记为失败。
+ */
+@Component
+@Slf4j
+public class VaccinationReminderDispatcher {
+    
+    private static final int MAX_ATTEMPTS = 5;
+    
+    private static final List<ReminderStatus> DUE_STATUSES = List.of(ReminderStatus.PENDING, ReminderStatus.PROCESSING);
+    
+    private final VaccinationReminderRepository reminderRepository;
+    private final ReminderNotifier notifier;
+    private final Clock clock;
+    private final int batchSize;
+    private final long retryDelayMs;
+    private final Duration lease;
+    
+    public VaccinationReminderDispatcher(VaccinationReminderRepository reminderRepository,
+                                         ReminderNotifier notifier,
+                                         Clock clock,
+                                         @Value("${app.reminder.batch-size:500}") int batchSize,
+                                         @Value("${app.reminder.retry-delay-ms:600000}") long retryDelayMs,
+                                         @Value("${app.reminder.lease-ms:300000}") long leaseMs) {
+        this.reminderRepository = reminderRepository;
+        this.notifier = notifier;
+        this.clock = clock;
+        this.batchSize = batchSize;
+        this.retryDelayMs = retryDelayMs;
+        this.lease = Duration.ofMillis(leaseMs);
+    }
+    
+    @Scheduled(fixedDelayString = "${app.reminder.scan-ms:60000}",
+               initialDelayString = "${app.reminder.scan-ms:60000}")
+    public void dispatch() {
+        LocalDateTime now = LocalDateTime.now(clock);
+        int sent = 0;
+        int failed = 0;
+        try {
+            List<VaccinationReminder> due;
+            do {
+                // 已处理的行状态或时间会改变，每批都从头读取
+                due = reminderRepository.findDue(DUE_STATUSES, now, PageRequest.of(0, batchSize));
+                for (VaccinationReminder reminder : due) {
+                    // 发送中的提醒租约已过期：上次发送未完成（节点宕机或发送卡住），计为一次失败
+                    boolean expired = reminder.getStatus() == ReminderStatus.PROCESSING;
+                    if (expired && reminder.getAttempts() + 1 >= MAX_ATTEMPTS) {
+                        if (reminderRepository.abandon(reminder.getId(), now,
+                                ReminderStatus.PROCESSING, ReminderStatus.FAILED) > 0) {
+                            failed++;
+                            log.warn("疫苗提醒多次发送未完成，已标记为失败，ID: {}", reminder.getId());
+                        }
+                        continue;
+                    }
+                    // 租约时间同时作为本次认领的标识，截到秒以免数据库精度不同导致比较失败
+                    LocalDateTime leaseUntil = LocalDateTime.now(clock).plus(lease).truncatedTo(ChronoUnit.SECONDS);
+                    if (reminderRepository.claim(reminder.getId(), now, leaseUntil,
+                            reminder.getStatus(), ReminderStatus.PROCESSING, expired ? 1 : 0) == 0) {
+                        continue;
+                    }
+                    if (expired) {
+                        reminder.setAttempts(reminder.getAttempts() + 1);
+                    }
+                    try {
+                        notifier.send(reminder);
+                    } catch (Exception e) {
+                        failed++;
+                        boolean giveUp = reminder.getAttempts() + 1 >= MAX_ATTEMPTS;
+                        reminderRepository.release(reminder.getId(), leaseUntil,
+                            giveUp ? ReminderStatus.FAILED : ReminderStatus.PENDING,
+                            LocalDateTime.now(clock).plus(Duration.ofMillis(retryDelayMs)),
+                            ReminderStatus.PROCESSING);
+                        log.warn("疫苗提醒发送失败，ID: {}，原因: {}", reminder.getId(), e.getMessage());
+                        continue;
+                    }
+                    if (reminderRepository.complete(reminder.getId(), leaseUntil, LocalDateTime.now(clock),
+                            ReminderStatus.PROCESSING, ReminderStatus.SENT) > 0) {
+                        sent++;
+                    } else {
+                        // 发送耗时超过租约已被其他节点重新认领，或期间提醒被改期
+                        log.warn("疫苗提醒已发送但租约已失效，ID: {}", reminder.getId());
+                    }
+                }
+            } while (due.size() == batchSize);
+        } catch (Exception e) {
+            log.error("疫苗提醒扫描失败: {}", e.getMessage());
+        }
+        if (sent > 0 || failed > 0) {
+            log.info("疫苗提醒发送完成，成功: {}，失败: {}", sent, failed);
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.petmanagement.petmanagementbackend.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.petmanagement.petmanagementbackend.models.HealthRecord;
+import com.petmanagement.petmanagementbackend.models.ReminderStatus;
+import com.petmanagement.petmanagementbackend.models.VaccinationReminder;
+import com.petmanagement.petmanagementbackend.payload.DictValueDTO;
+import com.petmanagement.petmanagementbackend.repository.VaccinationReminderRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * 疫苗到期提醒的生成与维护
+ * 到期日 = 接种日期 + vaccine_type 字典 extra_data 中的 protection_period（unit 为 月/天/年，默认月）
+ */
+@Service
+@Slf4j
+public class VaccinationReminderService {
+    
+    public static final String VACCINATION = "Vaccination";
+    
+    private static final String VACCINE_DICT = "vaccine_type";
+    
+    private final VaccinationReminderRepository reminderRepository;
+    private final BaseDictService baseDictService;
+    private final ObjectMapper objectMapper;
+    private final int leadDays;
+    private final LocalTime remindTime;
+    private final Clock clock;
+    
+    public VaccinationReminderService(VaccinationReminderRepository reminderRepository,
+                                      BaseDictService baseDictService,
+                                      ObjectMapper objectMapper,
+                                      @Value("${app.reminder.lead-days:7}") int leadDays,
+                                      @Value("${app.reminder.remind-time:09:00}") LocalTime remindTime,
+                                      Clock clock) {
+        this.reminderRepository = reminderRepository;
+        this.baseDictService = baseDictService;
+        this.objectMapper = objectMapper;
+        this.leadDays = leadDays;
+        this.remindTime = remindTime;
+        this.clock = clock;
+    }
+    
+    /**
+     * 疫苗编码是否有效（vaccine_type 字典）
+     */
+    public boolean isValidVaccine(String vaccineCode) {
+        return baseDictService.isValidDictValue(VACCINE_DICT, vaccineCode);
+    }
+    
+    /**
+     * 按健康记录当前内容生成/更新/删除对应的提醒（可重复调用）
+     * 非接种记录、未指定疫苗或疫苗没有保护期时不提醒；
+     * 只有疫苗或到期日变化时才重新排期，修改备注等其他字段不影响已发送或已取消的提醒。
+     * 新排期的提醒在以下情况直接取消：到期日已过（补录的历史记录），
+     * 或同一宠物同一疫苗已有更晚到期的提醒（补录的较早记录）。
+     */
+    @Transactional
+    public void syncFor(HealthRecord record) {
+        LocalDate dueDate = VACCINATION.equalsIgnoreCase(record.getRecordType()) && record.getVaccineCode() != null
+            ? dueDate(record.getVaccineCode(), record.getRecordDate())
+            : null;
+        if (dueDate == null) {
+            reminderRepository.deleteByHealthRecordId(record.getId());
+            return;
+        }
+        
+        VaccinationReminder reminder = reminderRepository.findByHealthRecordId(record.getId()).orElse(null);
+        if (reminder != null && dueDate.equals(reminder.getDueDate())
+                && record.getVaccineCode().equals(reminder.getVaccineCode())) {
+            return;
+        }
+        if (reminder == null) {
+            reminder = new VaccinationReminder();
+            reminder.setHealthRecordId(record.getId());
+        }
+        reminder.setPetId(record.getPetId());
+        reminder.setVaccineCode(record.getVaccineCode());
+        reminder.setDueDate(dueDate);
+        reminder.setRemindAt(dueDate.minusDays(leadDays).atTime(remindTime));
+        reminder.setAttempts(0);
+        reminder.setSentAt(null);
+        boolean superseded = dueDate.isBefore(LocalDate.now(clock))
+            || reminderRepository.existsLaterDue(record.getPetId(), record.getVaccineCode(), dueDate, record.getId());
+        reminder.setStatus(superseded ? ReminderStatus.CANCELLED : ReminderStatus.PENDING);
+        reminderRepository.save(reminder);
+        
+        if (!superseded) {
+            reminderRepository.cancelSuperseded(record.getPetId(), record.getVaccineCode(), dueDate,
+                ReminderStatus.PENDING, ReminderStatus.CANCELLED);
+        }
+    }
+    
+    /**
+     * 健康记录删除后移除对应提醒
+     */
+    @Transactional
+    public void removeFor(Long healthRecordId) {
+        reminderRepository.deleteByHealthRecordId(healthRecordId);
+    }
+    
+    /**
+     * 宠物删除后移除其全部提醒
+     */
+    @Transactional
+    public void removeForPet(Long petId) {
+        reminderRepository.deleteByPetId(petId);
+    }
+    
+    // 保护期取自字典快照，未配置时返回 null
+    private LocalDate dueDate(String vaccineCode, LocalDate vaccinatedOn) {
+        DictValueDTO vaccine = baseDictService.getDictValue(VACCINE_DICT, vaccineCode);
+        if (vaccine == null || vaccine.getExtraData() == null || vaccinatedOn == null) {
+            return null;
+        }
+        try {
+            JsonNode extra = objectMapper.readTree(vaccine.getExtraData());
+            JsonNode period = extra.get("protection_period");
+            if (period == null || !period.canConvertToInt() || period.asInt() <= 0) {
+                return null;
+            }
+            String unit = extra.path("unit").asText("月");
+            switch (unit) {
+                case "天":
+                    return vaccinatedOn.plusDays(period.asInt());
+                case "年":
+                    return vaccinatedOn.plusYears(period.asInt());
+                default:
+                    return vaccinatedOn.plusMonths(period.asInt());
+            }
+        } catch (Exception e) {
+            log.warn("疫苗 {} 的保护期配置无法解析: {}", vaccineCode, e.getMessage());
+            return null;
+        }
+    }
+}
@@ -0,0 +1,12 @@
+-- ==========================================
+-- 字典值父级编码索引
+-- ==========================================
+-- 品种按种类级联查询原先用 JSON_EXTRACT(extra_data, '$.species') 过滤，无法走索引。
+-- 增加由 extra_data 生成的存储列，任何写入方式（接口、脚本、手工 SQL）都会自动维护。
+-- 列和索引已在实体 BaseDictValue 中映射，ddl-auto=update 时自动创建；关闭自动建表的环境手工执行本脚本。
+
+ALTER TABLE base_dict_value
+    ADD COLUMN parent_value_code VARCHAR(50)
+        GENERATED ALWAYS AS (JSON_UNQUOTE(JSON_EXTRACT(extra_data, '$.species'))) STORED
+        COMMENT '父级值编码（由 extra_data.species 生成）' AFTER value_code,
+    ADD INDEX idx_dict_parent(dict_code, parent_value_code, status, value_order);
@@ -0,0 +1,76 @@
+package com.petmanagement.petmanagementbackend.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.petmanagement.petmanagementbackend.models.BaseDictValue;
+import com.petmanagement.petmanagementbackend.service.DictSnapshot;
+
+/**
+ * 种类 -> 品种级联查询的内存快照微基准（数千条品种，不访问数据库）：
+ * 在 Java 中逐行解析 extra_data 过滤，对比 DictSnapshot 按父级编码预先分组后的查找。
+ * 只衡量快照内的查找开销，不涉及数据库中 parent_value_code 生成列和 idx_dict_parent 索引的效果。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class BreedSnapshotLookupBenchmark {
+
+  private static final String BREED_DICT = "pet_breed";
+
+  @Param({"1000", "5000"})
+  private int breeds;
+
+  // 种类数量，品种平均分布
+  private static final int SPECIES = 20;
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+
+  private List<BaseDictValue> rows;
+
+  private DictSnapshot snapshot;
+
+  private String species;
+
+  @Setup
+  public void setUp() {
+    rows = new ArrayList<>(breeds);
+    for (int i = 0; i < breeds; i++) {
+      BaseDictValue value = new BaseDictValue();
+      value.setId((long) i);
+      value.setDictCode(BREED_DICT);
+      value.setValueCode("breed_" + i);
+      value.setValueName("品种" + i);
+      value.setValueOrder(i);
+      value.setExtraData("{\"species\":\"species_" + (i % SPECIES) + "\",\"size\":\"medium\"}");
+      value.setStatus(1);
+      rows.add(value);
+    }
+    snapshot = DictSnapshot.build(new ArrayList<>(rows), objectMapper);
+    species = "species_7";
+  }
+
+  @Benchmark
+  public List<BaseDictValue> jsonScan() throws Exception {
+    List<BaseDictValue> result = new ArrayList<>();
+    for (BaseDictValue value : rows) {
+      JsonNode node = objectMapper.readTree(value.getExtraData()).get("species");
+      if (node != null && species.equals(node.asText())) {
+        result.add(value);
+      }
+    }
+    return result;
+  }
+
+  @Benchmark
+  public List<BaseDictValue> snapshotChildren() {
+    return snapshot.children(BREED_DICT, species);
+  }
+}
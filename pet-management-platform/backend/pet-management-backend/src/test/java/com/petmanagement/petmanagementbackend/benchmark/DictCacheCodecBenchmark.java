@@ -0,0 +1,126 @@
+package com.petmanagement.petmanagementbackend.benchmark;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.JdkSerializationRedisSerializer;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.petmanagement.petmanagementbackend.models.BaseDictValue;
+import com.petmanagement.petmanagementbackend.payload.DictValueDTO;
+
+/**
+ * dictValues 缓存编码基准：每行一个 HashMap + JDK 序列化（原实现），
+ * 对比 DictValueDTO + JSON（CacheConfig 中的编码）。
+ * 两种序列化都从同一批实体开始计时，各自包含实体到缓存结构的转换（convertToMap / toDto）；
+ * 反序列化只计时字节到对象的还原。序列化后的字节数在 Setup 时输出到控制台。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class DictCacheCodecBenchmark {
+
+  @Param({"20", "500"})
+  private int rows;
+
+  private final JdkSerializationRedisSerializer jdkSerializer = new JdkSerializationRedisSerializer();
+
+  private Jackson2JsonRedisSerializer<Object> jsonSerializer;
+
+  private List<BaseDictValue> entities;
+
+  private byte[] mapBytes;
+
+  private byte[] dtoBytes;
+
+  @Setup
+  public void setUp() {
+    ObjectMapper mapper = new ObjectMapper();
+    JavaType type = mapper.getTypeFactory().constructCollectionType(List.class, DictValueDTO.class);
+    jsonSerializer = new Jackson2JsonRedisSerializer<>(mapper, type);
+
+    entities = new ArrayList<>(rows);
+    for (int i = 0; i < rows; i++) {
+      BaseDictValue value = new BaseDictValue();
+      value.setId((long) i);
+      value.setDictCode("pet_breed");
+      value.setValueCode("breed_" + i);
+      value.setValueName("品种" + i);
+      value.setValueOrder(i);
+      value.setExtraData("{\"species\":\"dog\"}");
+      value.setColorTag("#409EFF");
+      value.setIcon("icon-" + i);
+      value.setStatus(1);
+      entities.add(value);
+    }
+    mapBytes = mapJdkSerialize();
+    dtoBytes = dtoJsonSerialize();
+    System.out.printf("%n[rows=%d] payload bytes: map/jdk=%d, dto/json=%d%n", rows, mapBytes.length, dtoBytes.length);
+  }
+
+  @Benchmark
+  public byte[] mapJdkSerialize() {
+    List<Map<String, Object>> list = new ArrayList<>(rows);
+    for (BaseDictValue value : entities) {
+      list.add(toMap(value));
+    }
+    return jdkSerializer.serialize(list);
+  }
+
+  @Benchmark
+  public byte[] dtoJsonSerialize() {
+    List<DictValueDTO> list = new ArrayList<>(rows);
+    for (BaseDictValue value : entities) {
+      list.add(toDto(value));
+    }
+    return jsonSerializer.serialize(list);
+  }
+
+  @Benchmark
+  public Object mapJdkDeserialize() {
+    return jdkSerializer.deserialize(mapBytes);
+  }
+
+  @Benchmark
+  public Object dtoJsonDeserialize() {
+    return jsonSerializer.deserialize(dtoBytes);
+  }
+
+  // 原 BaseDictService.convertToMap 的结构
+  private static Map<String, Object> toMap(BaseDictValue value) {
+    Map<String, Object> map = new HashMap<>();
+    map.put("id", value.getId());
+    map.put("dictCode", value.getDictCode());
+    map.put("valueCode", value.getValueCode());
+    map.put("valueName", value.getValueName());
+    map.put("valueOrder", value.getValueOrder());
+    map.put("extraData", value.getExtraData());
+    map.put("colorTag", value.getColorTag());
+    map.put("icon", value.getIcon());
+    map.put("status", value.getStatus());
+    return map;
+  }
+
+  // BaseDictService.toDto 的结构
+  private static DictValueDTO toDto(BaseDictValue value) {
+    return DictValueDTO.builder()
+        .id(value.getId())
+        .dictCode(value.getDictCode())
+        .valueCode(value.getValueCode())
+        .valueName(value.getValueName())
+        .valueOrder(value.getValueOrder())
+        .extraData(value.getExtraData())
+        .colorTag(value.getColorTag())
+        .icon(value.getIcon())
+        .status(value.getStatus())
+        .build();
+  }
+}
@@ -0,0 +1,77 @@
+package com.petmanagement.petmanagementbackend.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.petmanagement.petmanagementbackend.security.jwt.JwtUtils;
+import com.petmanagement.petmanagementbackend.security.jwt.VerifiedTokenCache;
+import com.petmanagement.petmanagementbackend.security.services.UserDetailsImpl;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * 令牌认证路径基准：每次请求重建密钥和解析器并解析两遍（原实现），
+ * 对比复用解析器一次解析，以及已验签缓存命中。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class JwtParseBenchmark {
+
+  private static final String SECRET = "5f4dcc3b5aa765d61d8327deb882cf9972b968029f382339d361526555544245";
+
+  private JwtUtils jwtUtils;
+
+  private JwtUtils cachedJwtUtils;
+
+  private String token;
+
+  @Setup
+  public void setUp() {
+    jwtUtils = newJwtUtils(false);
+    cachedJwtUtils = newJwtUtils(true);
+
+    token = jwtUtils.generateJwtToken(new UserDetailsImpl(1L, "bench", "bench@example.com", null,
+        List.of(new SimpleGrantedAuthority("ROLE_USER")), 0));
+  }
+
+  @Benchmark
+  public String perRequestParser() {
+    // validateJwtToken + getUserNameFromJwtToken，各自构建密钥和解析器
+    Jwts.parserBuilder().setSigningKey(Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET))).build()
+        .parseClaimsJws(token);
+    return Jwts.parserBuilder().setSigningKey(Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET))).build()
+        .parseClaimsJws(token).getBody().getSubject();
+  }
+
+  @Benchmark
+  public Claims sharedParserSinglePass() {
+    return jwtUtils.parseJwtToken(token);
+  }
+
+  @Benchmark
+  public Claims verifiedCacheHit() {
+    return cachedJwtUtils.parseJwtToken(token);
+  }
+
+  private static JwtUtils newJwtUtils(boolean cacheEnabled) {
+    JwtUtils utils = new JwtUtils();
+    ReflectionTestUtils.setField(utils, "jwtSecret", SECRET);
+    ReflectionTestUtils.setField(utils, "jwtExpirationMs", 900000);
+    ReflectionTestUtils.setField(utils, "selfContained", true);
+    ReflectionTestUtils.setField(utils, "verifiedTokenCache",
+        new VerifiedTokenCache(cacheEnabled, 10000, new SimpleMeterRegistry()));
+    utils.init();
+    return utils;
+  }
+}
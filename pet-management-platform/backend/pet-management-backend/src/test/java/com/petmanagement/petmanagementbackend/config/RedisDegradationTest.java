@@ -0,0 +1,94 @@
+package com.petmanagement.petmanagementbackend.config;
+
+import com.petmanagement.petmanagementbackend.models.BaseDictValue;
+import com.petmanagement.petmanagementbackend.payload.DictValueDTO;
+import com.petmanagement.petmanagementbackend.repository.BaseDictValueRepository;
+import com.petmanagement.petmanagementbackend.service.BaseDictService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.data.redis.RedisAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Redis 不可用时的降级：缓存上下文指向无人监听的端口，
+ * @Cacheable 方法仍然查库返回结果，Redis 失败、熔断和跳过的计数随之增加。
+ */
+@SpringBootTest(classes = RedisDegradationTest.TestConfig.class, properties = {
+        "spring.data.redis.host=127.0.0.1",
+        "spring.data.redis.port=1",
+        "spring.data.redis.timeout=200ms",
+        "spring.data.redis.connect-timeout=200ms",
+        "spring.cache.redis.time-to-live=60000",
+        "app.cache.local.enabled=true",
+        "app.cache.redis-breaker.failure-threshold=2",
+        "app.cache.redis-breaker.open-ms=60000"
+})
+class RedisDegradationTest {
+
+    @Configuration
+    @ImportAutoConfiguration({RedisAutoConfiguration.class, JacksonAutoConfiguration.class})
+    @Import({CacheConfig.class, RedisCircuitBreaker.class, BaseDictService.class})
+    static class TestConfig {
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    @MockBean
+    private BaseDictValueRepository dictValueRepository;
+
+    @Autowired
+    private BaseDictService baseDictService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void cacheableFallsBackToDatabaseAndCountsRedisFailures() {
+        when(dictValueRepository.findByDictCodeAndStatus(anyString(), eq(1)))
+                .thenAnswer(invocation -> List.of(value(invocation.getArgument(0), "dog")));
+
+        for (String dictCode : List.of("pet_species", "pet_gender", "pet_size", "merchant_type")) {
+            List<DictValueDTO> values = baseDictService.getDictValues(dictCode);
+            assertThat(values).extracting(DictValueDTO::getValueCode).containsExactly("dog");
+        }
+        verify(dictValueRepository, times(4)).findByDictCodeAndStatus(anyString(), eq(1));
+
+        assertThat(meterRegistry.get("cache.redis.failures").counter().count()).isGreaterThanOrEqualTo(2);
+        assertThat(meterRegistry.get("cache.redis.circuit.opened").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("cache.redis.skipped").counter().count()).isGreaterThan(0);
+        assertThat(meterRegistry.get("cache.redis.circuit.open").gauge().value()).isEqualTo(1);
+
+        // 熔断期间本地层照常工作，再次读取不查库
+        baseDictService.getDictValues("pet_species");
+        verify(dictValueRepository, times(4)).findByDictCodeAndStatus(anyString(), eq(1));
+    }
+
+    private static BaseDictValue value(String dictCode, String valueCode) {
+        BaseDictValue value = new BaseDictValue();
+        value.setId(1L);
+        value.setDictCode(dictCode);
+        value.setValueCode(valueCode);
+        value.setValueName(valueCode);
+        value.setStatus(1);
+        return value;
+    }
+}
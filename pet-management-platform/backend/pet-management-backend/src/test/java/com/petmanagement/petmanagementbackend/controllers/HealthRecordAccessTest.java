@@ -0,0 +1,175 @@
+package com.petmanagement.petmanagementbackend.controllers;
+
+import com.petmanagement.petmanagementbackend.models.HealthRecord;
+import com.petmanagement.petmanagementbackend.models.Pet;
+import com.petmanagement.petmanagementbackend.repository.HealthRecordRepository;
+import com.petmanagement.petmanagementbackend.repository.PetRepository;
+import com.petmanagement.petmanagementbackend.security.services.UserDetailsImpl;
+import com.petmanagement.petmanagementbackend.service.VaccinationReminderService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+/**
+ * 健康记录的归属校验（H2，MySQL 兼容模式）
+ * 覆盖仓库中带 ownerId 的查询（宠物主人）和 ownerId 为空的查询（商家/管理员），
+ * 以及控制器在查询无结果时区分 403（宠物存在但不属于当前用户）和 404（不存在）。
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:health_access;MODE=MySQL;NON_KEYWORDS=VALUE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(HealthRecordController.class)
+class HealthRecordAccessTest {
+
+    private static final long OWNER_ID = 100L;
+    private static final long OTHER_OWNER_ID = 200L;
+    private static final long MISSING_ID = 999_999L;
+
+    @Autowired
+    private HealthRecordController controller;
+
+    @Autowired
+    private HealthRecordRepository healthRecordRepository;
+
+    @Autowired
+    private PetRepository petRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @MockBean
+    private VaccinationReminderService vaccinationReminderService;
+
+    private Long petId;
+
+    private Long recordId;
+
+    @BeforeEach
+    void seed() {
+        Pet pet = new Pet();
+        pet.setOwnerId(OWNER_ID);
+        pet.setName("旺财");
+        pet.setSpeciesCode("dog");
+        pet.setBreedCode("golden_retriever");
+        pet.setGenderCode("male");
+        pet.setBirthday(LocalDate.of(2020, 1, 1));
+        petId = petRepository.save(pet).getId();
+
+        HealthRecord record = new HealthRecord(petId, LocalDate.of(2024, 5, 1), "Checkup", "年度体检", null, null);
+        recordId = healthRecordRepository.save(record).getId();
+
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @AfterEach
+    void clearAuthentication() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void ownerScopedQueriesOnlyMatchOwnPets() {
+        assertThat(healthRecordRepository.findAccessibleByPetId(petId, OWNER_ID)).hasSize(1);
+        assertThat(healthRecordRepository.findAccessibleByPetId(petId, OTHER_OWNER_ID)).isEmpty();
+        assertThat(healthRecordRepository.findAccessibleById(recordId, OWNER_ID)).isPresent();
+        assertThat(healthRecordRepository.findAccessibleById(recordId, OTHER_OWNER_ID)).isEmpty();
+        assertThat(petRepository.existsAccessible(petId, OWNER_ID)).isTrue();
+        assertThat(petRepository.existsAccessible(petId, OTHER_OWNER_ID)).isFalse();
+    }
+
+    @Test
+    void unscopedQueriesOnlyRequireThePetToExist() {
+        assertThat(healthRecordRepository.findAccessibleByPetId(petId, null)).hasSize(1);
+        assertThat(healthRecordRepository.findAccessibleById(recordId, null)).isPresent();
+        assertThat(petRepository.existsAccessible(petId, null)).isTrue();
+        assertThat(petRepository.existsAccessible(MISSING_ID, null)).isFalse();
+        assertThat(healthRecordRepository.findAccessibleById(MISSING_ID, null)).isEmpty();
+    }
+
+    @Test
+    void scopedDeleteLeavesOtherOwnersRecords() {
+        assertThat(healthRecordRepository.deleteAccessibleById(recordId, OTHER_OWNER_ID)).isZero();
+        assertThat(healthRecordRepository.existsById(recordId)).isTrue();
+
+        assertThat(healthRecordRepository.deleteAccessibleById(recordId, OWNER_ID)).isEqualTo(1);
+        assertThat(healthRecordRepository.existsById(recordId)).isFalse();
+    }
+
+    @Test
+    void unscopedDeleteRemovesAnyRecord() {
+        assertThat(healthRecordRepository.deleteAccessibleById(recordId, null)).isEqualTo(1);
+        assertThat(healthRecordRepository.existsById(recordId)).isFalse();
+    }
+
+    @Test
+    void otherOwnerGetsForbiddenForExistingPetAndRecord() {
+        authenticate(OTHER_OWNER_ID, "ROLE_USER");
+
+        assertThat(controller.getHealthRecordsByPetId(petId).getStatusCode()).isEqualTo(HttpStatus.FORBIDDEN);
+        assertThat(controller.getHealthRecordById(recordId).getStatusCode()).isEqualTo(HttpStatus.FORBIDDEN);
+        assertThat(controller.deleteHealthRecord(recordId).getStatusCode()).isEqualTo(HttpStatus.FORBIDDEN);
+        assertThat(healthRecordRepository.existsById(recordId)).isTrue();
+        verify(vaccinationReminderService, never()).removeFor(recordId);
+    }
+
+    @Test
+    void missingPetOrRecordIsNotFound() {
+        authenticate(OWNER_ID, "ROLE_USER");
+
+        assertThat(controller.getHealthRecordsByPetId(MISSING_ID).getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+        assertThat(controller.getHealthRecordById(MISSING_ID).getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+        assertThat(controller.deleteHealthRecord(MISSING_ID).getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+    }
+
+    @Test
+    void ownerCanReadAndDeleteOwnRecord() {
+        authenticate(OWNER_ID, "ROLE_USER");
+
+        List<HealthRecord> records = controller.getHealthRecordsByPetId(petId).getBody();
+        assertThat(records).extracting(HealthRecord::getId).containsExactly(recordId);
+        assertThat(controller.getHealthRecordById(recordId).getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(controller.deleteHealthRecord(recordId).getStatusCode()).isEqualTo(HttpStatus.NO_CONTENT);
+        verify(vaccinationReminderService).removeFor(recordId);
+    }
+
+    @Test
+    void adminIsNotScopedToOwner() {
+        authenticate(1L, "ROLE_ADMIN");
+
+        assertThat(controller.getHealthRecordsByPetId(petId).getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(controller.getHealthRecordById(recordId).getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(controller.getHealthRecordById(MISSING_ID).getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+    }
+
+    private void authenticate(Long userId, String role) {
+        List<SimpleGrantedAuthority> authorities = List.of(new SimpleGrantedAuthority(role));
+        UserDetailsImpl principal = new UserDetailsImpl(userId, "user" + userId, "user" + userId + "@example.com",
+                "", authorities);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, authorities));
+    }
+}
@@ -0,0 +1,144 @@
+package com.petmanagement.petmanagementbackend.repository;
+
+import com.petmanagement.petmanagementbackend.models.Customer;
+import com.petmanagement.petmanagementbackend.models.Pet;
+import com.petmanagement.petmanagementbackend.payload.response.PetResponse;
+import com.petmanagement.petmanagementbackend.service.BaseDictService;
+import com.petmanagement.petmanagementbackend.service.PetHistoryService;
+import com.petmanagement.petmanagementbackend.service.PetService;
+import com.petmanagement.petmanagementbackend.service.PetVitalService;
+import com.petmanagement.petmanagementbackend.service.VaccinationReminderService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 商家客户宠物列表的查询次数（H2，MySQL 兼容模式）
+ * 种子数据：一个商家 500 个客户、每个客户一只宠物；
+ * 通过 PetService.getMerchantCustomerPets 调用，语句数与客户数无关（原实现为 1 + N 条）。
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:query_count;MODE=MySQL;NON_KEYWORDS=VALUE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(PetService.class)
+class MerchantCustomerPetsQueryCountTest {
+
+    private static final long MERCHANT_ID = 1L;
+    private static final int CUSTOMERS = 500;
+    private static final int PAGE_SIZE = 100;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private PetRepository petRepository;
+
+    @Autowired
+    private PetService petService;
+
+    @MockBean
+    private BaseDictService baseDictService;
+
+    @MockBean
+    private PetHistoryService petHistoryService;
+
+    @MockBean
+    private PetVitalService petVitalService;
+
+    @MockBean
+    private VaccinationReminderService vaccinationReminderService;
+
+    @MockBean
+    private Clock clock;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void seed() {
+        List<Customer> customers = new ArrayList<>(CUSTOMERS + 10);
+        for (int i = 0; i < CUSTOMERS + 10; i++) {
+            Customer customer = new Customer();
+            // 另一个商家的 10 个客户不应出现在结果中
+            customer.setMerchantId(i < CUSTOMERS ? MERCHANT_ID : MERCHANT_ID + 1);
+            customer.setName("客户" + i);
+            customer.setPhone(String.format("138%08d", i));
+            customers.add(customer);
+        }
+        customerRepository.saveAll(customers);
+
+        List<Pet> pets = new ArrayList<>(customers.size());
+        for (Customer customer : customers) {
+            Pet pet = new Pet();
+            pet.setOwnerId(100L);
+            pet.setCustomerId(customer.getId());
+            pet.setName("宠物" + customer.getId());
+            pet.setSpeciesCode("dog");
+            pet.setBreedCode("golden_retriever");
+            pet.setGenderCode("male");
+            pet.setBirthday(LocalDate.of(2020, 1, 1));
+            pets.add(pet);
+        }
+        petRepository.saveAll(pets);
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void unpagedListIssuesOneQuery() {
+        List<PetResponse> pets = petService.getMerchantCustomerPets(MERCHANT_ID, null, null);
+
+        assertThat(pets).hasSize(CUSTOMERS);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void keysetPagesIssueOneQueryEach() {
+        List<PetResponse> all = new ArrayList<>();
+        long afterId = 0L;
+        List<PetResponse> page;
+        do {
+            page = petService.getMerchantCustomerPets(MERCHANT_ID, afterId, PAGE_SIZE);
+            all.addAll(page);
+            if (!page.isEmpty()) {
+                afterId = page.get(page.size() - 1).getId();
+            }
+        } while (page.size() == PAGE_SIZE);
+
+        assertThat(all).hasSize(CUSTOMERS);
+        assertThat(all).extracting(PetResponse::getId).isSorted().doesNotHaveDuplicates();
+        // 5 页满页 + 1 次空页确认
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(CUSTOMERS / PAGE_SIZE + 1);
+    }
+}
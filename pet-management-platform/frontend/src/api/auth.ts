@@ -13,6 +13,7 @@ export interface LoginResponse {
   email: string
   roles: string[]
   accessToken: string
+  refreshToken: string
   tokenType: string
 }
 
@@ -25,6 +26,15 @@ export function login(data: LoginRequest) {
   })
 }
 
+// 刷新令牌（访问令牌过期后换取新令牌，刷新令牌同时轮换）
+export function refreshToken(refreshToken: string) {
+  return request({
+    url: '/api/auth/refresh',
+    method: 'post',
+    data: { refreshToken }
+  })
+}
+
 // 注册请求参数
 export interface SignupRequest {
   username: string
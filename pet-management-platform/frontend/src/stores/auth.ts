@@ -10,6 +10,7 @@ interface User {
 
 export const useAuthStore = defineStore('auth', () => {
   const token = ref<string>(localStorage.getItem('token') || '')
+  const refreshToken = ref<string>(localStorage.getItem('refreshToken') || '')
   const user = ref<User | null>(
     localStorage.getItem('user') 
       ? JSON.parse(localStorage.getItem('user')!) 
@@ -24,6 +25,11 @@ export const useAuthStore = defineStore('auth', () => {
     localStorage.setItem('token', newToken)
   }
 
+  const setRefreshToken = (newRefreshToken: string) => {
+    refreshToken.value = newRefreshToken
+    localStorage.setItem('refreshToken', newRefreshToken)
+  }
+
   const setUser = (newUser: User) => {
     user.value = newUser
     localStorage.setItem('user', JSON.stringify(newUser))
@@ -31,8 +37,10 @@ export const useAuthStore = defineStore('auth', () => {
 
   const clearAuth = () => {
     token.value = ''
+    refreshToken.value = ''
     user.value = null
     localStorage.removeItem('token')
+    localStorage.removeItem('refreshToken')
     localStorage.removeItem('user')
   }
 
@@ -43,9 +51,11 @@ export const useAuthStore = defineStore('auth', () => {
 
   return {
     token,
+    refreshToken,
     user,
     isAuthenticated,
     setToken,
+    setRefreshToken,
     setUser,
     clearAuth,
     logout  // 导出 logout 方法
@@ -29,22 +29,58 @@ service.interceptors.request.use(
 
 let isUnauthorizedMessageShown = false
 
+// 访问令牌过期时用刷新令牌换取新令牌，并发的 401 请求共用同一次刷新
+let refreshPromise: Promise<string | null> | null = null
+
+const refreshAccessToken = (): Promise<string | null> => {
+  const refreshToken = localStorage.getItem('refreshToken')
+  if (!refreshToken) {
+    return Promise.resolve(null)
+  }
+  if (!refreshPromise) {
+    refreshPromise = axios
+      .post(`${service.defaults.baseURL}/api/auth/refresh`, { refreshToken })
+      .then(({ data }) => {
+        localStorage.setItem('token', data.accessToken)
+        localStorage.setItem('refreshToken', data.refreshToken)
+        return data.accessToken as string
+      })
+      .catch(() => null)
+      .finally(() => {
+        refreshPromise = null
+      })
+  }
+  return refreshPromise
+}
+
 // 响应拦截器
 service.interceptors.response.use(
   (response: AxiosResponse) => {
     console.log('✅ 响应成功 -', response.config.url, '| 状态:', response.status)
     return response.data
   },
-  (error: AxiosError) => {
+  async (error: AxiosError) => {
     const status = error.response?.status
     console.error('❌ 响应错误 -', error.config?.url, '| 状态:', status)
     
+    const originalConfig = error.config as (InternalAxiosRequestConfig & { _retry?: boolean }) | undefined
+    if (status === 401 && originalConfig && !originalConfig._retry
+        && !originalConfig.url?.startsWith('/api/auth/')) {
+      originalConfig._retry = true
+      const newToken = await refreshAccessToken()
+      if (newToken) {
+        originalConfig.headers.Authorization = `Bearer ${newToken}`
+        return service(originalConfig)
+      }
+    }
+
     if (status === 401) {
       if (!isUnauthorizedMessageShown) {
         isUnauthorizedMessageShown = true
         ElMessage.error('登录已过期，请重新登录')
         
         localStorage.removeItem('token')
+        localStorage.removeItem('refreshToken')
         localStorage.removeItem('user')
         
         router.push('/login').then(() => {